@@ -0,0 +1,49 @@
+package com.api.auth.application.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing and verification as done on register and login, on the
+ * calling thread. {@code iterations=0} is the unsalted SHA-256 that hashes
+ * created before PBKDF2 still use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+    private static final String LEGACY_HASH = "xLvLH77JnWW/WdhcjLYu4tuWPw/hBvSD2a+nO9Tjmoo=";
+
+    @Param({"600000", "0"})
+    int iterations;
+
+    private final PasswordHasher passwordHasher = new PasswordHasher();
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        passwordHasher.iterations = iterations;
+        stored = iterations > 0 ? passwordHasher.hashNow(PASSWORD) : LEGACY_HASH;
+    }
+
+    @Benchmark
+    public boolean verifyPassword() {
+        return passwordHasher.verifyNow(PASSWORD, stored);
+    }
+}
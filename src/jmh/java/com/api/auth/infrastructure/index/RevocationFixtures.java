@@ -0,0 +1,24 @@
+package com.api.auth.infrastructure.index;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Revocation lists for benchmarks, filled in memory without a database.
+ */
+public final class RevocationFixtures {
+
+    private RevocationFixtures() {
+    }
+
+    public static TokenRevocationList withRevokedTokens(int count) {
+        TokenRevocationList list = new TokenRevocationList();
+        list.capacity = Math.max(count, 1);
+        list.init();
+        long expiresAt = Instant.now().plusSeconds(3600).getEpochSecond();
+        for (int i = 0; i < count; i++) {
+            list.remember(UUID.randomUUID().toString(), expiresAt);
+        }
+        return list;
+    }
+}
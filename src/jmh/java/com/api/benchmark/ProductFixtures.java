@@ -0,0 +1,45 @@
+package com.api.benchmark;
+
+import com.api.product.domain.ProductView;
+import com.api.product.infrastructure.entity.ProductEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic product rows shared by the benchmarks.
+ */
+public final class ProductFixtures {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private ProductFixtures() {
+    }
+
+    public static List<ProductEntity> entities(int size) {
+        List<ProductEntity> entities = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ProductEntity entity = new ProductEntity();
+            entity.setId((long) i + 1);
+            entity.setName("Product " + i);
+            entity.setDescription("Description of product " + i);
+            entity.setPrice(BigDecimal.valueOf(1000 + i, 2));
+            entity.setStockQuantity(i % 50);
+            entity.setCreatedAt(CREATED_AT.plusMinutes(i));
+            entity.setUpdatedAt(CREATED_AT.plusHours(1).plusMinutes(i));
+            entity.setSku("SKU-" + i);
+            entity.setVersion(0L);
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    public static List<ProductView> views(int size) {
+        return entities(size).stream()
+                .map(e -> new ProductView(e.getId(), e.getName(), e.getDescription(), e.getPrice(),
+                        e.getStockQuantity(), e.getCreatedAt(), e.getUpdatedAt(), e.getSku(), e.getVersion()))
+                .toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.api.benchmark;
+
+import com.api.product.application.dto.ProductDTO;
+import com.api.product.application.mapper.ProductDtoMapper;
+import com.api.product.domain.Product;
+import com.api.product.infrastructure.entity.ProductEntity;
+import com.api.product.infrastructure.mapper.ProductMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List conversions between the persistence, domain and API layers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    int size;
+
+    private final ProductMapper productMapper = new ProductMapper();
+    private final ProductDtoMapper dtoMapper = new ProductDtoMapper();
+
+    private List<ProductEntity> entities;
+    private List<Product> products;
+    private List<ProductDTO> dtos;
+
+    @Setup
+    public void setUp() {
+        entities = ProductFixtures.entities(size);
+        products = productMapper.toDomainList(entities);
+        dtos = dtoMapper.toDtoList(products);
+    }
+
+    @Benchmark
+    public List<Product> entityToDomain() {
+        return productMapper.toDomainList(entities);
+    }
+
+    @Benchmark
+    public List<ProductEntity> domainToEntity() {
+        return productMapper.toEntityList(products);
+    }
+
+    @Benchmark
+    public List<ProductDTO> domainToDto() {
+        return dtoMapper.toDtoList(products);
+    }
+
+    @Benchmark
+    public List<Product> dtoToDomain() {
+        return dtoMapper.toDomainList(dtos);
+    }
+
+    /**
+     * The full read path used before list endpoints selected into ProductView.
+     */
+    @Benchmark
+    public List<ProductDTO> entityToDto() {
+        return dtoMapper.toDtoList(productMapper.toDomainList(entities));
+    }
+}
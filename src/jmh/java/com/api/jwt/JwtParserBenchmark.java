@@ -0,0 +1,81 @@
+package com.api.jwt;
+
+import com.api.auth.infrastructure.index.RevocationFixtures;
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.ParseException;
+import io.smallrye.jwt.build.Jwt;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer token verification: SmallRye JWT's default parser, which checks the
+ * RSA signature and parses the claims on every request, against
+ * {@link CachingJwtParser} answering a token it has already verified. The
+ * cached path includes the revocation check against 10,000 revoked tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtParserBenchmark {
+
+    private static final String ISSUER = "https://example.com/issuer";
+
+    private DefaultJWTParser defaultParser;
+    private CachingJwtParser cachingParser;
+    private String token;
+
+    @Setup
+    public void setUp() throws NoSuchAlgorithmException, ParseException {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        token = Jwt.claims()
+                .issuer(ISSUER)
+                .audience("product-api")
+                .subject("user")
+                .claim("email", "user@example.com")
+                .groups(Set.of("user"))
+                .expiresIn(Duration.ofHours(1))
+                .sign(keyPair.getPrivate());
+
+        defaultParser = new DefaultJWTParser(new JWTAuthContextInfo(keyPair.getPublic(), ISSUER));
+        cachingParser = new CachingJwtParser();
+        cachingParser.delegate = defaultParser;
+        cachingParser.revocationList = RevocationFixtures.withRevokedTokens(10_000);
+        cachingParser.enabled = true;
+        cachingParser.maxSize = 10_000;
+        cachingParser.maxTtl = Duration.ofHours(1);
+        cachingParser.init();
+        cachingParser.parse(token);
+    }
+
+    @Benchmark
+    public JsonWebToken verifyDefault() throws ParseException {
+        return defaultParser.parse(token);
+    }
+
+    @Benchmark
+    public JsonWebToken verifyCached() throws ParseException {
+        return cachingParser.parse(token);
+    }
+}
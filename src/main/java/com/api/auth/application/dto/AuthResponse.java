@@ -3,6 +3,7 @@ package com.api.auth.application.dto;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String type = "Bearer";
     private String username;
     private String email;
@@ -18,6 +19,11 @@ public class AuthResponse {
         this.role = role;
     }
 
+    public AuthResponse(String token, String refreshToken, String username, String email, String role) {
+        this(token, username, email, role);
+        this.refreshToken = refreshToken;
+    }
+
     // Getters and Setters
     public String getToken() {
         return token;
@@ -27,6 +33,14 @@ public class AuthResponse {
         this.token = token;
     }
 
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public String getType() {
         return type;
     }
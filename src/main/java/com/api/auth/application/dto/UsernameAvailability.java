@@ -0,0 +1,32 @@
+package com.api.auth.application.dto;
+
+public class UsernameAvailability {
+
+    private String username;
+    private boolean available;
+
+    // Constructors
+    public UsernameAvailability() {}
+
+    public UsernameAvailability(String username, boolean available) {
+        this.username = username;
+        this.available = available;
+    }
+
+    // Getters and Setters
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+}
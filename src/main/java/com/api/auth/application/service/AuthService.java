@@ -3,18 +3,17 @@ package com.api.auth.application.service;
 import com.api.auth.application.dto.AuthResponse;
 import com.api.auth.application.dto.LoginRequest;
 import com.api.auth.application.dto.RegisterRequest;
+import com.api.auth.application.dto.UsernameAvailability;
 import com.api.auth.domain.User;
+import com.api.auth.infrastructure.index.TakenUsernames;
 import com.api.auth.infrastructure.repository.UserRepository;
-import com.api.jwt.JwtUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.PersistenceException;
 import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotAuthorizedException;
-
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
+import org.hibernate.exception.ConstraintViolationException;
 
 @ApplicationScoped
 public class AuthService {
@@ -23,72 +22,92 @@ public class AuthService {
     UserRepository userRepository;
 
     @Inject
-    JwtUtil jwtUtil;
+    TokenService tokenService;
+
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    TakenUsernames takenUsernames;
 
-    @Transactional
+    /**
+     * Registers a user with a single INSERT. The unique constraints on
+     * username and email decide whether either is taken, which also holds
+     * for concurrent sign-ups with the same username.
+     */
     public AuthResponse register(RegisterRequest request) {
-        // Check if user already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new BadRequestException("Username already exists");
-        }
-        
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new BadRequestException("Email already exists");
-        }
+        // Hash outside the transaction, so no connection is held while hashing
+        String passwordHash = passwordHasher.hash(request.getPassword());
 
         // Create new user
         User user = new User();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(hashPassword(request.getPassword()));
+        user.setPassword(passwordHash);
         user.setRole(User.Role.USER);
 
-        userRepository.persist(user);
+        try {
+            QuarkusTransaction.requiringNew().run(() -> userRepository.persist(user));
+        } catch (PersistenceException e) {
+            throw duplicateUser(e);
+        }
+        takenUsernames.add(user.getUsername());
 
-        // Generate token
-        String token = jwtUtil.generateUserToken(
-            user.getUsername(), 
-            user.getEmail(), 
-            user.getRole().toString().toLowerCase()
-        );
+        return tokenService.issue(user);
+    }
 
-        return new AuthResponse(token, user.getUsername(), user.getEmail(), user.getRole().toString());
+    /**
+     * A username the filter has never seen is free without asking the
+     * database; only possible matches are checked with a query.
+     */
+    public UsernameAvailability checkUsername(String username) {
+        boolean available = !takenUsernames.mightBeTaken(username) || !userRepository.existsByUsername(username);
+        return new UsernameAvailability(username, available);
     }
 
     public AuthResponse login(LoginRequest request) {
-        User user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new NotAuthorizedException("Invalid credentials"));
+        User user = userRepository.findByUsername(request.getUsername()).orElse(null);
+        if (user == null) {
+            // Hash anyway, so the response time does not tell which usernames exist
+            passwordHasher.verifyUnknownUser(request.getPassword());
+            throw new NotAuthorizedException("Invalid credentials");
+        }
 
-        if (!verifyPassword(request.getPassword(), user.getPassword())) {
+        if (!passwordHasher.verify(request.getPassword(), user.getPassword())) {
             throw new NotAuthorizedException("Invalid credentials");
         }
 
-        // Generate token based on role
-        String token;
-        if (user.getRole() == User.Role.ADMIN) {
-            token = jwtUtil.generateAdminToken(user.getUsername(), user.getEmail());
-        } else {
-            token = jwtUtil.generateUserToken(
-                user.getUsername(), 
-                user.getEmail(), 
-                user.getRole().toString().toLowerCase()
-            );
+        // Upgrade legacy or weaker hashes now that the plain password is known
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordHasher.hash(request.getPassword()));
         }
 
-        return new AuthResponse(token, user.getUsername(), user.getEmail(), user.getRole().toString());
+        return tokenService.issue(user);
     }
 
-    private String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(password.getBytes());
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error hashing password", e);
+    private static RuntimeException duplicateUser(PersistenceException e) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof ConstraintViolationException)) {
+            cause = cause.getCause();
+        }
+        if (!(cause instanceof ConstraintViolationException violation)) {
+            return e;
+        }
+        // The constraints keep their generated names, so the violated column is read from the message
+        String detail = String.valueOf(violation.getSQLException().getMessage()).toLowerCase();
+        if (mentionsColumn(detail, "username")) {
+            return new BadRequestException("Username already exists");
+        }
+        if (mentionsColumn(detail, "email")) {
+            return new BadRequestException("Email already exists");
         }
+        return new BadRequestException("Username or email already exists");
     }
 
-    private boolean verifyPassword(String password, String hashedPassword) {
-        return hashPassword(password).equals(hashedPassword);
+    /**
+     * PostgreSQL reports "Key (username)=(...)", H2 "USERS(USERNAME NULLS FIRST)".
+     */
+    private static boolean mentionsColumn(String detail, String column) {
+        return detail.contains("(" + column + ")") || detail.contains("(" + column + " ");
     }
 }
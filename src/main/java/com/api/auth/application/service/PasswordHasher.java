@@ -0,0 +1,169 @@
+package com.api.auth.application.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 password hashes, stored as
+ * {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}.
+ * <p>
+ * Hashing is deliberately slow, so it runs on a dedicated pool of
+ * {@code auth.hashing.threads} threads (one per core by default) with a queue
+ * of {@code auth.hashing.queue-capacity}. When both are full the request fails
+ * at once with 503 instead of waiting, so a burst of logins cannot take the
+ * CPU away from the rest of the API.
+ * <p>
+ * Hashes from before PBKDF2 (unsalted SHA-256) and hashes with fewer than the
+ * configured iterations are still verified; {@link #needsRehash} tells the
+ * caller to replace them.
+ */
+@ApplicationScoped
+public class PasswordHasher {
+
+    private static final String PREFIX = "pbkdf2-sha256$";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @ConfigProperty(name = "auth.password.iterations", defaultValue = "600000")
+    int iterations;
+
+    @ConfigProperty(name = "auth.hashing.threads", defaultValue = "0")
+    int threads;
+
+    @ConfigProperty(name = "auth.hashing.queue-capacity", defaultValue = "64")
+    int queueCapacity;
+
+    @ConfigProperty(name = "auth.hashing.retry-after", defaultValue = "1")
+    long retryAfterSeconds;
+
+    ThreadPoolExecutor executor;
+
+    // Same format and iterations as a real hash; an all-zero hash never matches in practice
+    String dummyHash;
+
+    @PostConstruct
+    void init() {
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        dummyHash = PREFIX + iterations + "$" + encoder.encodeToString(new byte[SALT_BYTES]) + "$"
+                + encoder.encodeToString(new byte[HASH_BITS / 8]);
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Hashes {@code password} with a new random salt on the hashing pool.
+     *
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public String hash(String password) {
+        return submit(() -> hashNow(password));
+    }
+
+    /**
+     * Checks {@code password} against a stored hash on the hashing pool.
+     *
+     * @throws ServiceUnavailableException if the hashing pool is saturated
+     */
+    public boolean verify(String password, String stored) {
+        return submit(() -> verifyNow(password, stored));
+    }
+
+    /**
+     * Does the work of {@link #verify} against a hash no password matches, for
+     * a login whose user does not exist. Unknown usernames then take as long
+     * to reject as wrong passwords.
+     */
+    public void verifyUnknownUser(String password) {
+        verify(password, dummyHash);
+    }
+
+    public boolean needsRehash(String stored) {
+        return !stored.startsWith(PREFIX) || Integer.parseInt(stored.split("\\$")[1]) < iterations;
+    }
+
+    String hashNow(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$"
+                + encoder.encodeToString(pbkdf2(password, salt, iterations));
+    }
+
+    boolean verifyNow(String password, String stored) {
+        if (!stored.startsWith(PREFIX)) {
+            return MessageDigest.isEqual(legacyHash(password), Base64.getDecoder().decode(stored));
+        }
+        String[] parts = stored.split("\\$");
+        Base64.Decoder decoder = Base64.getDecoder();
+        byte[] expected = decoder.decode(parts[3]);
+        return MessageDigest.isEqual(pbkdf2(password, decoder.decode(parts[2]), Integer.parseInt(parts[1])), expected);
+    }
+
+    <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Password hashing is saturated, try again later", retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error hashing password", e.getCause());
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] legacyHash(String password) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Error hashing password", e);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.api.auth.application.service;
+
+import com.api.auth.application.dto.AuthResponse;
+import com.api.auth.domain.RefreshToken;
+import com.api.auth.domain.User;
+import com.api.auth.infrastructure.index.TokenRevocationList;
+import com.api.auth.infrastructure.repository.RefreshTokenRepository;
+import com.api.auth.infrastructure.repository.UserRepository;
+import com.api.jwt.AccessToken;
+import com.api.jwt.JwtUtil;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.NotAuthorizedException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues access tokens together with rotating refresh tokens, and revokes
+ * them.
+ * <p>
+ * A refresh token is an opaque random value; only its SHA-256 digest is
+ * stored. Refreshing uses it up and returns a new pair in the same family.
+ * Presenting a token that was already used means it was copied, so the
+ * whole family and the access tokens issued with it are revoked.
+ */
+@ApplicationScoped
+public class TokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    @Inject
+    JwtUtil jwtUtil;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    RefreshTokenRepository refreshTokenRepository;
+
+    @Inject
+    TokenRevocationList revocationList;
+
+    @ConfigProperty(name = "auth.refresh-token.ttl", defaultValue = "14d")
+    Duration refreshTokenTtl;
+
+    /**
+     * Starts a new refresh token family for a user who just authenticated.
+     */
+    public AuthResponse issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    public AuthResponse refresh(String refreshToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(digest(refreshToken))
+                .orElseThrow(() -> new NotAuthorizedException("Invalid refresh token"));
+        User user = userRepository.findByIdOptional(current.getUserId())
+                .orElseThrow(() -> new NotAuthorizedException("Invalid refresh token"));
+        Issued next = prepare(user, current.getFamilyId());
+        LocalDateTime now = LocalDateTime.now();
+        // The successor is stored with the use, so a concurrent reuse that waits
+        // for this row and then revokes the family revokes the successor too
+        boolean used = QuarkusTransaction.requiringNew().call(() -> {
+            if (!refreshTokenRepository.markUsed(current.getId(), now)) {
+                return false;
+            }
+            refreshTokenRepository.persist(next.row());
+            return true;
+        });
+        if (!used) {
+            // Used, revoked or expired: any second presentation counts as reuse
+            revokeFamily(current.getFamilyId());
+            throw new NotAuthorizedException("Invalid refresh token");
+        }
+        return next.response();
+    }
+
+    /**
+     * Revokes the caller's access token and, if given, the family of the
+     * refresh token issued with it.
+     */
+    public void logout(JsonWebToken accessToken, String refreshToken) {
+        revocationList.revoke(accessToken.getTokenID(), Instant.ofEpochSecond(accessToken.getExpirationTime()));
+        if (refreshToken != null) {
+            refreshTokenRepository.findByTokenHash(digest(refreshToken))
+                    .ifPresent(token -> revokeFamily(token.getFamilyId()));
+        }
+    }
+
+    @Scheduled(every = "{auth.refresh-token.purge-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void purgeExpired() {
+        QuarkusTransaction.requiringNew().run(() -> refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    private AuthResponse issue(User user, String familyId) {
+        Issued issued = prepare(user, familyId);
+        QuarkusTransaction.requiringNew().run(() -> refreshTokenRepository.persist(issued.row()));
+        return issued.response();
+    }
+
+    /**
+     * Signs an access token and creates a refresh token for it; the caller
+     * stores the refresh token row.
+     */
+    private Issued prepare(User user, String familyId) {
+        AccessToken accessToken = user.getRole() == User.Role.ADMIN
+                ? jwtUtil.generateAdminToken(user.getUsername(), user.getEmail())
+                : jwtUtil.generateUserToken(user.getUsername(), user.getEmail(), user.getRole().toString().toLowerCase());
+
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+
+        RefreshToken row = new RefreshToken();
+        row.setTokenHash(digest(refreshToken));
+        row.setFamilyId(familyId);
+        row.setUserId(user.getId());
+        row.setAccessTokenId(accessToken.id());
+        row.setAccessExpiresAt(LocalDateTime.ofInstant(accessToken.expiresAt(), ZoneId.systemDefault()));
+        row.setExpiresAt(LocalDateTime.now().plus(refreshTokenTtl));
+
+        return new Issued(row, new AuthResponse(accessToken.token(), refreshToken, user.getUsername(), user.getEmail(),
+                user.getRole().toString()));
+    }
+
+    private void revokeFamily(String familyId) {
+        List<RefreshToken> family = QuarkusTransaction.requiringNew().call(() -> refreshTokenRepository.revokeFamily(familyId));
+        for (RefreshToken token : family) {
+            revocationList.revoke(token.getAccessTokenId(), token.getAccessExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    private static String digest(String refreshToken) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(refreshToken.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Issued(RefreshToken row, AuthResponse response) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.api.auth.infrastructure.index;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Cuckoo filter of strings: a set membership test that, unlike a Bloom
+ * filter, supports removal. Each string is stored as a 16-bit fingerprint in
+ * one of two buckets of four slots, so a lookup reads at most eight slots and
+ * has a false positive rate of about 0.01%.
+ * <p>
+ * Lookups use an optimistic read and do not lock unless they overlap a write.
+ * Writes are serialized. When an insert cannot find room after
+ * {@value #MAX_KICKS} relocations the displaced fingerprint is kept aside, so
+ * nothing added before is lost; that add and all later ones return false, and
+ * later values are not recorded until an entry is removed.
+ */
+public final class CuckooFilter {
+
+    private static final int SLOTS = 4;
+    private static final int MAX_KICKS = 500;
+
+    private final StampedLock lock = new StampedLock();
+    private final short[] slots;
+    private final int bucketMask;
+    private int size;
+
+    // Fingerprint that found no room, with one of its buckets; 0 if none
+    private short victim;
+    private int victimBucket;
+
+    /**
+     * @param capacity number of strings the filter should hold; the table is
+     *                 sized for a load factor of at most 95%
+     */
+    public CuckooFilter(int capacity) {
+        int buckets = Integer.highestOneBit(Math.max(1, (int) Math.ceil(capacity / (SLOTS * 0.95))) * 2 - 1);
+        this.slots = new short[buckets * SLOTS];
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * @return false if the filter is full, in which case the caller must not
+     *         rely on it for this value
+     */
+    public boolean add(String value) {
+        long hash = Hashing.hash(value);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        long stamp = lock.writeLock();
+        try {
+            if (victim != 0) {
+                return false;
+            }
+            int second = alternate(first, fingerprint);
+            if (insert(first, fingerprint) || insert(second, fingerprint)) {
+                size++;
+                return true;
+            }
+            int bucket = ThreadLocalRandom.current().nextBoolean() ? first : second;
+            for (int kick = 0; kick < MAX_KICKS; kick++) {
+                int slot = bucket * SLOTS + ThreadLocalRandom.current().nextInt(SLOTS);
+                short evicted = slots[slot];
+                slots[slot] = fingerprint;
+                fingerprint = evicted;
+                bucket = alternate(bucket, fingerprint);
+                if (insert(bucket, fingerprint)) {
+                    size++;
+                    return true;
+                }
+            }
+            victim = fingerprint;
+            victimBucket = bucket;
+            size++;
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = Hashing.hash(value);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        int second = alternate(first, fingerprint);
+        long stamp = lock.tryOptimisticRead();
+        boolean found = contains(first, second, fingerprint);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = contains(first, second, fingerprint);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Removes one occurrence of a value that was added before. Removing a
+     * value that was never added may remove another value's fingerprint.
+     */
+    public boolean remove(String value) {
+        long hash = Hashing.hash(value);
+        short fingerprint = fingerprint(hash);
+        int first = (int) hash & bucketMask;
+        int second = alternate(first, fingerprint);
+        long stamp = lock.writeLock();
+        try {
+            if (victim == fingerprint && (victimBucket == first || victimBucket == second)) {
+                victim = 0;
+                size--;
+                return true;
+            }
+            if (delete(first, fingerprint) || delete(second, fingerprint)) {
+                size--;
+                // Room was made; try to give the victim a slot again
+                if (victim != 0) {
+                    short homeless = victim;
+                    int bucket = victimBucket;
+                    if (insert(bucket, homeless) || insert(alternate(bucket, homeless), homeless)) {
+                        victim = 0;
+                    }
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private boolean contains(int first, int second, short fingerprint) {
+        for (int i = 0; i < SLOTS; i++) {
+            if (slots[first * SLOTS + i] == fingerprint || slots[second * SLOTS + i] == fingerprint) {
+                return true;
+            }
+        }
+        return victim == fingerprint && (victimBucket == first || victimBucket == second);
+    }
+
+    private boolean insert(int bucket, short fingerprint) {
+        for (int i = bucket * SLOTS; i < (bucket + 1) * SLOTS; i++) {
+            if (slots[i] == 0) {
+                slots[i] = fingerprint;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean delete(int bucket, short fingerprint) {
+        for (int i = bucket * SLOTS; i < (bucket + 1) * SLOTS; i++) {
+            if (slots[i] == fingerprint) {
+                slots[i] = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int alternate(int bucket, short fingerprint) {
+        return (bucket ^ (int) Hashing.mix(fingerprint)) & bucketMask;
+    }
+
+    // Never 0, which marks an empty slot
+    private static short fingerprint(long hash) {
+        short fingerprint = (short) (hash >>> 48);
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+}
@@ -0,0 +1,29 @@
+package com.api.auth.infrastructure.index;
+
+/**
+ * 64-bit string hashing shared by the in-memory filters and sketches.
+ */
+public final class Hashing {
+
+    private Hashing() {
+    }
+
+    // FNV-1a over the UTF-16 chars, then a 64-bit finalizer to spread the bits
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    public static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
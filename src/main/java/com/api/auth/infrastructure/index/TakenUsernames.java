@@ -0,0 +1,93 @@
+package com.api.auth.infrastructure.index;
+
+import com.api.auth.infrastructure.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Bloom filter of every username in the users table, so that most
+ * availability checks for a free username are answered without a query.
+ * <p>
+ * Rebuilt from the table every {@code auth.username-filter.rebuild-interval},
+ * which also picks up users registered on other instances and resizes the
+ * filter as the table grows. Local registrations are added as they happen.
+ * A username registered elsewhere since the last rebuild may be reported as
+ * free; registering it still fails with 400.
+ */
+@ApplicationScoped
+public class TakenUsernames {
+
+    private static final Logger LOG = Logger.getLogger(TakenUsernames.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Inject
+    UserRepository userRepository;
+
+    @ConfigProperty(name = "auth.username-filter.expected-insertions", defaultValue = "100000")
+    long expectedInsertions;
+
+    @ConfigProperty(name = "auth.username-filter.false-positive-rate", defaultValue = "0.01")
+    double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    // Filter being rebuilt; registrations during a rebuild are added to it too
+    private volatile BloomFilter building;
+
+    /**
+     * True if the username may be taken and the database has to be asked;
+     * false if it is certainly free. Always true until the first build.
+     */
+    public boolean mightBeTaken(String username) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(username);
+    }
+
+    public void add(String username) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(username);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(username);
+        }
+    }
+
+    @Scheduled(every = "{auth.username-filter.rebuild-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void rebuild() {
+        long start = System.nanoTime();
+        long users = QuarkusTransaction.requiringNew().call(userRepository::count);
+        // Leave room to grow until the next rebuild
+        BloomFilter next = new BloomFilter(Math.max(expectedInsertions, 2 * users), falsePositiveRate);
+        building = next;
+        try {
+            String after = "";
+            List<String> page;
+            do {
+                String cursor = after;
+                page = QuarkusTransaction.requiringNew()
+                        .call(() -> userRepository.findUsernamesAfter(cursor, PAGE_SIZE));
+                page.forEach(next::add);
+                if (!page.isEmpty()) {
+                    after = page.get(page.size() - 1);
+                }
+            } while (page.size() == PAGE_SIZE);
+            filter = next;
+        } catch (RuntimeException e) {
+            LOG.error("Username filter rebuild failed", e);
+            return;
+        } finally {
+            building = null;
+        }
+        LOG.debugf("Username filter rebuilt with %d users (%d bits, %d hashes) in %d ms", users,
+                next.bitSize(), next.hashCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,156 @@
+package com.api.auth.infrastructure.index;
+
+import com.api.auth.domain.RevokedToken;
+import com.api.auth.infrastructure.repository.RevokedTokenRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Access tokens revoked before their expiry, by {@code jti}, checked on every
+ * authenticated request without a query.
+ * <p>
+ * A {@link CuckooFilter} answers the common case, a token that was never
+ * revoked, with a few array reads. Only possible matches are confirmed
+ * against the exact set. Revocations are stored in the {@code revoked_tokens}
+ * table and loaded at startup. Every {@code auth.revocation.sync-interval}
+ * the list picks up revocations made by other instances, and drops tokens
+ * that have expired from memory and from the table.
+ */
+@ApplicationScoped
+public class TokenRevocationList {
+
+    private static final Logger LOG = Logger.getLogger(TokenRevocationList.class);
+
+    // Revocations committed late or stamped by a skewed clock are read again
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    @Inject
+    RevokedTokenRepository revokedTokenRepository;
+
+    @ConfigProperty(name = "auth.revocation.capacity", defaultValue = "100000")
+    int capacity;
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    // Serializes changes; a lock rather than a monitor, so virtual threads do not pin
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile CuckooFilter filter;
+
+    // Set when the filter ran out of room; every lookup then uses the exact set
+    private volatile boolean overflow;
+
+    private LocalDateTime lastSync = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @PostConstruct
+    void init() {
+        filter = new CuckooFilter(capacity);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        sync();
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        return (overflow || filter.mightContain(tokenId)) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes an access token until {@code expiresAt}, here and, after the
+     * next sync, on every other instance.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        LocalDateTime expiry = LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault());
+        try {
+            QuarkusTransaction.requiringNew().run(() -> {
+                if (revokedTokenRepository.findById(tokenId) == null) {
+                    revokedTokenRepository.persist(new RevokedToken(tokenId, expiry, LocalDateTime.now()));
+                }
+            });
+        } catch (RuntimeException e) {
+            // A concurrent revocation of the same token inserted it first
+            if (QuarkusTransaction.requiringNew().call(() -> revokedTokenRepository.findById(tokenId)) == null) {
+                throw e;
+            }
+        }
+        remember(tokenId, expiresAt.getEpochSecond());
+    }
+
+    @Scheduled(every = "{auth.revocation.sync-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastSync;
+        try {
+            List<RevokedToken> recent = QuarkusTransaction.requiringNew().call(() -> {
+                revokedTokenRepository.deleteExpired(now);
+                return revokedTokenRepository.findRevokedSince(since, now);
+            });
+            for (RevokedToken token : recent) {
+                remember(token.getTokenId(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+            }
+            lastSync = now.minus(SYNC_OVERLAP);
+        } catch (RuntimeException e) {
+            LOG.error("Token revocation sync failed", e);
+        }
+        purgeExpired();
+    }
+
+    void remember(String tokenId, long expiresAtEpochSecond) {
+        writeLock.lock();
+        try {
+            if (revoked.putIfAbsent(tokenId, expiresAtEpochSecond) == null && !filter.add(tokenId)) {
+                overflow = true;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        writeLock.lock();
+        try {
+            revoked.entrySet().removeIf(entry -> {
+                if (entry.getValue() > now) {
+                    return false;
+                }
+                filter.remove(entry.getKey());
+                return true;
+            });
+            if (overflow) {
+                // Rebuild with room to grow; lookups keep using the exact set until the swap
+                CuckooFilter larger = new CuckooFilter(Math.max(capacity, 2 * revoked.size()));
+                boolean fits = true;
+                for (String tokenId : revoked.keySet()) {
+                    fits &= larger.add(tokenId);
+                }
+                filter = larger;
+                overflow = !fits;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
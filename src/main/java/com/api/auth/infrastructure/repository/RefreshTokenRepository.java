@@ -0,0 +1,42 @@
+package com.api.auth.infrastructure.repository;
+
+import com.api.auth.domain.RefreshToken;
+import com.api.metrics.RecordedQueries;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ApplicationScoped
+@RecordedQueries
+public class RefreshTokenRepository implements PanacheRepository<RefreshToken> {
+
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return find("tokenHash", tokenHash).firstResultOptional();
+    }
+
+    /**
+     * Marks a live token used; the conditional update lets exactly one of
+     * several concurrent refreshes with the same token succeed.
+     *
+     * @return true if this call used the token
+     */
+    public boolean markUsed(Long id, LocalDateTime now) {
+        return update("used = true where id = ?1 and used = false and revoked = false and expiresAt > ?2", id, now) == 1;
+    }
+
+    /**
+     * Revokes every token of a family and returns them, so the access tokens
+     * issued with them can be revoked as well.
+     */
+    public List<RefreshToken> revokeFamily(String familyId) {
+        update("revoked = true where familyId = ?1", familyId);
+        return list("familyId", familyId);
+    }
+
+    public long deleteExpired(LocalDateTime now) {
+        return delete("expiresAt <= ?1", now);
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.auth.infrastructure.repository;
+
+import com.api.auth.domain.RevokedToken;
+import com.api.metrics.RecordedQueries;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ApplicationScoped
+@RecordedQueries
+public class RevokedTokenRepository implements PanacheRepositoryBase<RevokedToken, String> {
+
+    /**
+     * Revocations recorded since {@code since} for tokens that have not
+     * expired yet.
+     */
+    public List<RevokedToken> findRevokedSince(LocalDateTime since, LocalDateTime now) {
+        return list("revokedAt >= ?1 and expiresAt > ?2", since, now);
+    }
+
+    public long deleteExpired(LocalDateTime now) {
+        return delete("expiresAt <= ?1", now);
+    }
+}
@@ -1,12 +1,17 @@
 package com.api.auth.infrastructure.repository;
 
 import com.api.auth.domain.User;
+import com.api.metrics.NotRecorded;
+import com.api.metrics.RecordedQueries;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@RecordedQueries
 public class UserRepository implements PanacheRepository<User> {
 
     public Optional<User> findByUsername(String username) {
@@ -24,4 +29,21 @@ public class UserRepository implements PanacheRepository<User> {
     public boolean existsByEmail(String email) {
         return count("email", email) > 0;
     }
+
+    /**
+     * Usernames in order, starting after {@code afterUsername}; walks the
+     * unique index on username.
+     */
+    public List<String> findUsernamesAfter(String afterUsername, int limit) {
+        return getEntityManager()
+                .createQuery("select u.username from User u where u.username > :after order by u.username", String.class)
+                .setParameter("after", afterUsername)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Transactional
+    public void updatePassword(Long id, @NotRecorded String password) {
+        update("password = ?1 where id = ?2", password, id);
+    }
 }
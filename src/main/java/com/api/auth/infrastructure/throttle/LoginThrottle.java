@@ -0,0 +1,114 @@
+package com.api.auth.infrastructure.throttle;
+
+import com.api.metrics.MetricsRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Login attempts allowed per client IP and per username, as token buckets:
+ * {@code burst} attempts at once, then {@code per-minute} on average.
+ * <p>
+ * Successful logins give their username attempt back, so only failures
+ * count against an account; every attempt counts against its IP.
+ */
+@ApplicationScoped
+public class LoginThrottle {
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    @Inject
+    MetricsRegistry metrics;
+
+    @ConfigProperty(name = "auth.login.throttle.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "auth.login.throttle.ip.burst", defaultValue = "30")
+    int ipBurst;
+
+    @ConfigProperty(name = "auth.login.throttle.ip.per-minute", defaultValue = "30")
+    int ipPerMinute;
+
+    @ConfigProperty(name = "auth.login.throttle.username.burst", defaultValue = "10")
+    int usernameBurst;
+
+    @ConfigProperty(name = "auth.login.throttle.username.per-minute", defaultValue = "5")
+    int usernamePerMinute;
+
+    @ConfigProperty(name = "auth.login.throttle.width", defaultValue = "65536")
+    int width;
+
+    private RateLimitSketch byIp;
+    private RateLimitSketch byUsername;
+    private LongAdder attempts;
+    private LongAdder throttledByIp;
+    private LongAdder throttledByUsername;
+
+    @PostConstruct
+    void init() {
+        byIp = new RateLimitSketch(width, 2, ipBurst, MINUTE_NANOS / ipPerMinute);
+        byUsername = new RateLimitSketch(width, 2, usernameBurst, MINUTE_NANOS / usernamePerMinute);
+        attempts = metrics.counter("auth_login_attempts_total", "Login attempts seen by the throttle");
+        throttledByIp = metrics.counter("auth_login_throttled_total", "Login attempts rejected by the throttle",
+                "key", "ip");
+        throttledByUsername = metrics.counter("auth_login_throttled_total", "Login attempts rejected by the throttle",
+                "key", "username");
+        metrics.gauge("auth_login_throttle_memory_bytes", "Memory held by the login throttle", "gauge",
+                () -> byIp.memoryBytes() + byUsername.memoryBytes());
+    }
+
+    /**
+     * Takes one attempt for the client. Runs before the request body is read.
+     *
+     * @return 0 if the attempt may proceed, otherwise the nanoseconds until
+     *         the client may try again
+     */
+    public long tryAcquireClient(String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+        attempts.increment();
+        long wait = byIp.tryAcquire(clientIp);
+        if (wait > 0) {
+            throttledByIp.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Takes one attempt for the username, once the client's attempt has been
+     * taken.
+     *
+     * @return 0 if the attempt may proceed, otherwise the nanoseconds until
+     *         the username may be tried again
+     */
+    public long tryAcquireUsername(String username) {
+        if (!enabled || username == null) {
+            return 0;
+        }
+        long wait = byUsername.tryAcquire(key(username));
+        if (wait > 0) {
+            throttledByUsername.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Gives the attempt back to a username that logged in successfully.
+     */
+    public void succeeded(String username) {
+        if (enabled && username != null) {
+            byUsername.refund(key(username));
+        }
+    }
+
+    // Case variants of a name share a bucket
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,107 @@
+package com.api.auth.infrastructure.throttle;
+
+import com.api.auth.infrastructure.index.Hashing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for an unbounded set of keys in a fixed amount of memory.
+ * <p>
+ * Each bucket is a single long holding its theoretical arrival time (the
+ * generic cell rate algorithm): a request is allowed if the bucket would not
+ * run more than {@code burst} requests ahead of the steady rate, and the time
+ * is then pushed one interval further. Updates are a CAS on that long, so no
+ * lock is taken.
+ * <p>
+ * Keys are hashed into {@code depth} rows of {@code width} buckets, as in a
+ * count-min sketch. A request takes one interval from every bucket of its
+ * key, each with its own CAS that fails if the bucket is exhausted; the
+ * buckets already taken are then given back. No bucket ever runs more than a
+ * burst ahead, so no key can either, even under concurrent requests. A key
+ * that shares a bucket with a heavier key may be limited early; wide rows
+ * keep that rare.
+ */
+public final class RateLimitSketch {
+
+    private static final long SEED = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray arrivals;
+    private final int depth;
+    private final int mask;
+    private final long interval;
+    private final long tolerance;
+    // nanoTime origin, so that the initial 0 means a full bucket
+    private final long origin = System.nanoTime() - 1;
+
+    /**
+     * @param width          buckets per row, rounded up to a power of two
+     * @param depth          rows, i.e. buckets per key
+     * @param burst          requests a key may make at once
+     * @param intervalNanos  time to earn back one request
+     */
+    public RateLimitSketch(int width, int depth, int burst, long intervalNanos) {
+        int buckets = Integer.highestOneBit(Math.max(1, width) * 2 - 1);
+        this.arrivals = new AtomicLongArray(buckets * depth);
+        this.depth = depth;
+        this.mask = buckets - 1;
+        this.interval = intervalNanos;
+        this.tolerance = (Math.max(1, burst) - 1) * intervalNanos;
+    }
+
+    /**
+     * Takes one request from the key's buckets.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until
+     *         the key may try again
+     */
+    public long tryAcquire(String key) {
+        long now = System.nanoTime() - origin;
+        long hash = Hashing.hash(key);
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            long current;
+            long next;
+            do {
+                current = arrivals.get(index);
+                next = Math.max(current, now) + interval;
+                if (next - now > tolerance + interval) {
+                    // Undo the rows this request already took, so a rejected request costs nothing
+                    for (int taken = 0; taken < row; taken++) {
+                        giveBack(index(hash, taken), now);
+                    }
+                    return next - now - tolerance - interval;
+                }
+            } while (!arrivals.weakCompareAndSetVolatile(index, current, next));
+        }
+        return 0;
+    }
+
+    /**
+     * Gives back one request taken by {@link #tryAcquire}.
+     */
+    public void refund(String key) {
+        long now = System.nanoTime() - origin;
+        long hash = Hashing.hash(key);
+        for (int row = 0; row < depth; row++) {
+            giveBack(index(hash, row), now);
+        }
+    }
+
+    private void giveBack(int index, long now) {
+        long current;
+        do {
+            current = arrivals.get(index);
+            if (current <= now) {
+                return;
+            }
+        } while (!arrivals.weakCompareAndSetVolatile(index, current, current - interval));
+    }
+
+    public long memoryBytes() {
+        return arrivals.length() * 8L;
+    }
+
+    private int index(long hash, int row) {
+        return row * (mask + 1) + ((int) Hashing.mix(hash + row * SEED) & mask);
+    }
+}
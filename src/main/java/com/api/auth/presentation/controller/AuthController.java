@@ -2,28 +2,43 @@ package com.api.auth.presentation.controller;
 
 import com.api.auth.application.dto.AuthResponse;
 import com.api.auth.application.dto.LoginRequest;
+import com.api.auth.application.dto.RefreshRequest;
 import com.api.auth.application.dto.RegisterRequest;
+import com.api.auth.application.dto.UsernameAvailability;
 import com.api.auth.application.service.AuthService;
+import com.api.auth.application.service.TokenService;
+import com.api.auth.presentation.filter.LoginThrottled;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.jwt.JsonWebToken;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
 @Path("/auth")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Authentication", description = "Authentication endpoints")
+@RunOnVirtualThread
 public class AuthController {
 
     @Inject
     AuthService authService;
 
+    @Inject
+    TokenService tokenService;
+
+    @Inject
+    JsonWebToken jwt;
+
     @POST
     @Path("/register")
     @Operation(summary = "Register a new user")
@@ -33,6 +48,7 @@ public class AuthController {
         content = @Content(schema = @Schema(implementation = AuthResponse.class))
     )
     @APIResponse(responseCode = "400", description = "Bad request - username or email already exists")
+    @APIResponse(responseCode = "503", description = "Password hashing is saturated - retry after the Retry-After delay")
     public Response register(@Valid RegisterRequest request) {
         try {
             AuthResponse response = authService.register(request);
@@ -52,6 +68,9 @@ public class AuthController {
         content = @Content(schema = @Schema(implementation = AuthResponse.class))
     )
     @APIResponse(responseCode = "401", description = "Unauthorized - invalid credentials")
+    @APIResponse(responseCode = "429", description = "Too many login attempts for this client or username - retry after the Retry-After delay")
+    @APIResponse(responseCode = "503", description = "Password hashing is saturated - retry after the Retry-After delay")
+    @LoginThrottled
     public Response login(@Valid LoginRequest request) {
         try {
             AuthResponse response = authService.login(request);
@@ -62,6 +81,53 @@ public class AuthController {
         }
     }
 
+    @POST
+    @Path("/refresh")
+    @Operation(summary = "Exchange a refresh token for a new access and refresh token",
+            description = "Each refresh token can be used once. Reusing one revokes every token issued from the same login")
+    @APIResponse(
+        responseCode = "200",
+        description = "New token pair",
+        content = @Content(schema = @Schema(implementation = AuthResponse.class))
+    )
+    @APIResponse(responseCode = "401", description = "Unauthorized - refresh token is unknown, expired, used or revoked")
+    public Response refresh(@Valid RefreshRequest request) {
+        try {
+            return Response.ok(tokenService.refresh(request.getRefreshToken())).build();
+        } catch (NotAuthorizedException e) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity(new ErrorResponse("Invalid refresh token")).build();
+        }
+    }
+
+    @POST
+    @Path("/logout")
+    @RolesAllowed({"user", "admin"})
+    @SecurityRequirement(name = "JWT")
+    @Operation(summary = "Revoke the current access token and, if given, its refresh token")
+    @APIResponse(responseCode = "204", description = "Tokens revoked")
+    public void logout(RefreshRequest request) {
+        tokenService.logout(jwt, request != null ? request.getRefreshToken() : null);
+    }
+
+    @GET
+    @Path("/available")
+    @Operation(summary = "Check whether a username is still free",
+            description = "Answered from an in-memory filter of taken usernames when possible; "
+                    + "only usernames that may be taken are looked up in the database")
+    @APIResponse(
+        responseCode = "200",
+        description = "Availability of the username",
+        content = @Content(schema = @Schema(implementation = UsernameAvailability.class))
+    )
+    @APIResponse(responseCode = "400", description = "Bad request - username is missing")
+    public UsernameAvailability checkUsername(@QueryParam("username") String username) {
+        if (username == null || username.isBlank()) {
+            throw new BadRequestException("username is required");
+        }
+        return authService.checkUsername(username);
+    }
+
     // Error response class
     public static class ErrorResponse {
         private String message;
@@ -0,0 +1,99 @@
+package com.api.auth.presentation.filter;
+
+import com.api.auth.infrastructure.throttle.LoginThrottle;
+import com.api.auth.presentation.controller.AuthController;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.runtime.configuration.MemorySize;
+import io.vertx.core.http.HttpServerRequest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects login attempts over the {@link LoginThrottle} limits with 429 and
+ * {@code Retry-After}, before the endpoint reads the database or hashes a
+ * password. The client's attempt is taken before the body is read, and bodies
+ * over {@code auth.login.max-body-size} are rejected with 413 without being
+ * buffered.
+ */
+public class LoginThrottleFilter {
+
+    private static final String USERNAME = LoginThrottleFilter.class.getName() + ".username";
+
+    @Inject
+    LoginThrottle throttle;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "auth.login.max-body-size", defaultValue = "4K")
+    MemorySize maxBodySize;
+
+    @LoginThrottled
+    @ServerRequestFilter
+    public Response throttle(ContainerRequestContext request, HttpServerRequest httpRequest) throws IOException {
+        long wait = throttle.tryAcquireClient(httpRequest.remoteAddress().hostAddress());
+        if (wait > 0) {
+            return tooManyAttempts(wait);
+        }
+
+        int limit = (int) maxBodySize.asLongValue();
+        if (request.getLength() > limit) {
+            return tooLarge();
+        }
+        byte[] body = request.getEntityStream().readNBytes(limit + 1);
+        if (body.length > limit) {
+            return tooLarge();
+        }
+        request.setEntityStream(new ByteArrayInputStream(body));
+        String username = username(body);
+        request.setProperty(USERNAME, username);
+
+        wait = throttle.tryAcquireUsername(username);
+        return wait == 0 ? null : tooManyAttempts(wait);
+    }
+
+    @LoginThrottled
+    @ServerResponseFilter
+    public void refundSuccess(ContainerRequestContext request, ContainerResponseContext response) {
+        if (response.getStatus() == Response.Status.OK.getStatusCode()) {
+            throttle.succeeded((String) request.getProperty(USERNAME));
+        }
+    }
+
+    private static Response tooManyAttempts(long wait) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999)))
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new AuthController.ErrorResponse("Too many login attempts"))
+                .build();
+    }
+
+    private static Response tooLarge() {
+        return Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE)
+                .type(MediaType.APPLICATION_JSON)
+                .entity(new AuthController.ErrorResponse("Login request too large"))
+                .build();
+    }
+
+    // Malformed bodies are left to the endpoint to reject; they still count against the IP
+    private String username(byte[] body) {
+        try {
+            JsonNode username = objectMapper.readTree(body).get("username");
+            return username != null && username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
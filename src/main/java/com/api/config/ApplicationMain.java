@@ -0,0 +1,54 @@
+package com.api.config;
+
+import com.api.product.application.importer.ProductImportFormat;
+import com.api.product.application.importer.ProductImportReport;
+import com.api.product.application.importer.ProductImportService;
+import com.api.product.domain.ProductImportStatus;
+import io.quarkus.runtime.Quarkus;
+import io.quarkus.runtime.QuarkusApplication;
+import io.quarkus.runtime.annotations.QuarkusMain;
+import jakarta.inject.Inject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Entry point. Without arguments the API runs as usual; with
+ * {@code import <file.csv|file.ndjson> [importId]} the application imports the
+ * feed, prints the report and exits.
+ */
+@QuarkusMain
+public class ApplicationMain implements QuarkusApplication {
+
+    @Inject
+    ProductImportService importService;
+
+    @Override
+    public int run(String... args) throws IOException {
+        if (args.length == 0 || !"import".equals(args[0])) {
+            Quarkus.waitForExit();
+            return 0;
+        }
+        if (args.length < 2) {
+            System.err.println("Usage: import <file.csv|file.ndjson> [importId]");
+            return 2;
+        }
+
+        Path file = Path.of(args[1]);
+        ProductImportReport report;
+        try (InputStream feed = Files.newInputStream(file)) {
+            report = importService.importFeed(feed, ProductImportFormat.from(file.getFileName().toString()),
+                    args.length > 2 ? args[2] : null);
+        }
+        System.out.printf("Import %s %s: %d rows read, %d imported, %d rejected, %.0f rows/s%n",
+                report.importId(), report.status(), report.rowsRead(), report.imported(), report.rejected(),
+                report.rowsPerSecond());
+        report.rejections().forEach(rejected -> System.out.printf("  row %d: %s%n", rejected.row(), rejected.reason()));
+        if (report.error() != null) {
+            System.err.println(report.error());
+        }
+        return report.status() == ProductImportStatus.COMPLETED ? 0 : 1;
+    }
+}
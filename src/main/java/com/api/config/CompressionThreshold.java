@@ -0,0 +1,36 @@
+package com.api.config;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Leaves small response bodies uncompressed. Below
+ * {@code http.compression.min-size} bytes, compression costs more CPU than it
+ * saves on the wire. Such responses are marked {@code Content-Encoding: identity}
+ * right before the headers are written, which makes the HTTP layer skip them.
+ * Streamed responses have no Content-Length and are always compressed.
+ */
+@ApplicationScoped
+public class CompressionThreshold {
+
+    @ConfigProperty(name = "http.compression.min-size", defaultValue = "1024")
+    long minSize;
+
+    void register(@Observes Router router) {
+        router.route().order(-1000).handler(context -> {
+            context.addHeadersEndHandler(ignored -> {
+                MultiMap headers = context.response().headers();
+                String length = headers.get(HttpHeaders.CONTENT_LENGTH);
+                if (length != null && !headers.contains(HttpHeaders.CONTENT_ENCODING)
+                        && Long.parseLong(length) < minSize) {
+                    headers.set(HttpHeaders.CONTENT_ENCODING, HttpHeaders.IDENTITY);
+                }
+            });
+            context.next();
+        });
+    }
+}
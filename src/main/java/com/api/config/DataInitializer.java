@@ -1,6 +1,8 @@
 package com.api.config;
 
+import com.api.auth.application.service.PasswordHasher;
 import com.api.auth.domain.User;
+import com.api.auth.infrastructure.index.TakenUsernames;
 import com.api.auth.infrastructure.repository.UserRepository;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -8,16 +10,18 @@ import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Base64;
-
 @ApplicationScoped
 public class DataInitializer {
 
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    PasswordHasher passwordHasher;
+
+    @Inject
+    TakenUsernames takenUsernames;
+
     @Transactional
     void onStart(@Observes StartupEvent ev) {
         // Create default admin user if it doesn't exist
@@ -25,9 +29,10 @@ public class DataInitializer {
             User admin = new User();
             admin.setUsername("admin");
             admin.setEmail("admin@example.com");
-            admin.setPassword(hashPassword("admin123"));
+            admin.setPassword(passwordHasher.hash("admin123"));
             admin.setRole(User.Role.ADMIN);
             userRepository.persist(admin);
+            takenUsernames.add(admin.getUsername());
             
             System.out.println("Default admin user created: admin/admin123");
         }
@@ -37,21 +42,12 @@ public class DataInitializer {
             User user = new User();
             user.setUsername("user");
             user.setEmail("user@example.com");
-            user.setPassword(hashPassword("user123"));
+            user.setPassword(passwordHasher.hash("user123"));
             user.setRole(User.Role.USER);
             userRepository.persist(user);
+            takenUsernames.add(user.getUsername());
             
             System.out.println("Default user created: user/user123");
         }
     }
-
-    private String hashPassword(String password) {
-        try {
-            MessageDigest md = MessageDigest.getInstance("SHA-256");
-            byte[] hash = md.digest(password.getBytes());
-            return Base64.getEncoder().encodeToString(hash);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error hashing password", e);
-        }
-    }
 }
@@ -0,0 +1,60 @@
+package com.api.config;
+
+import io.quarkus.runtime.configuration.MemorySize;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.ext.web.Router;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Raises the request body limit for the feed import only. Every other endpoint
+ * keeps {@code quarkus.http.limits.max-body-size}, because RESTEasy Reactive
+ * reads their bodies into memory; the import streams its body.
+ * <p>
+ * Quarkus rejects a Content-Length over the global limit in a route of order
+ * -2, and otherwise stops reading at the limit it leaves in the routing
+ * context. For the import path, an acceptable Content-Length is hidden from
+ * that route and put back right after it, together with the larger limit.
+ */
+@ApplicationScoped
+public class FeedUploadLimit {
+
+    static final String IMPORT_PATH = "/api/admin/products/import";
+
+    // Key the Quarkus body limit handler and the request input stream share
+    private static final String MAX_REQUEST_SIZE = "io.quarkus.max-request-size";
+    private static final String HIDDEN_LENGTH = FeedUploadLimit.class.getName() + ".content-length";
+
+    @ConfigProperty(name = "product.import.max-body-size", defaultValue = "16G")
+    MemorySize maxBodySize;
+
+    void register(@Observes Router router) {
+        long limit = maxBodySize.asLongValue();
+        router.route(IMPORT_PATH).order(-3).handler(context -> {
+            String length = context.request().getHeader(HttpHeaders.CONTENT_LENGTH);
+            if (length != null && fits(length, limit)) {
+                context.put(HIDDEN_LENGTH, length);
+                context.request().headers().remove(HttpHeaders.CONTENT_LENGTH);
+            }
+            context.next();
+        });
+        router.route(IMPORT_PATH).order(-1).handler(context -> {
+            String length = context.get(HIDDEN_LENGTH);
+            if (length != null) {
+                context.request().headers().set(HttpHeaders.CONTENT_LENGTH, length);
+            }
+            context.put(MAX_REQUEST_SIZE, limit);
+            context.next();
+        });
+    }
+
+    private static boolean fits(String length, long limit) {
+        try {
+            return Long.parseLong(length) <= limit;
+        } catch (NumberFormatException e) {
+            // Left for the global limit handler to reject
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.config;
+
+import io.netty.handler.codec.compression.StandardCompressionOptions;
+import io.quarkus.vertx.http.HttpServerOptionsCustomizer;
+import io.vertx.core.http.HttpServerOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Offers brotli next to gzip and deflate when response compression is
+ * enabled ({@code quarkus.http.enable-compression}). The encoding is picked
+ * from the client's Accept-Encoding header.
+ */
+@ApplicationScoped
+public class HttpCompressionCustomizer implements HttpServerOptionsCustomizer {
+
+    @Override
+    public void customizeHttpServer(HttpServerOptions options) {
+        if (!options.isCompressionSupported()) {
+            return;
+        }
+        int level = options.getCompressionLevel();
+        options.addCompressor(StandardCompressionOptions.brotli())
+                .addCompressor(StandardCompressionOptions.gzip(level, 15, 8))
+                .addCompressor(StandardCompressionOptions.deflate(level, 15, 8));
+    }
+}
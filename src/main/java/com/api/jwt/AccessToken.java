@@ -0,0 +1,10 @@
+package com.api.jwt;
+
+import java.time.Instant;
+
+/**
+ * A signed access token with the {@code jti} and {@code exp} claims it
+ * carries, so it can be revoked later.
+ */
+public record AccessToken(String token, String id, Instant expiresAt) {
+}
@@ -0,0 +1,160 @@
+package com.api.jwt;
+
+import com.api.auth.infrastructure.index.TokenRevocationList;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.smallrye.jwt.auth.principal.DefaultJWTParser;
+import io.smallrye.jwt.auth.principal.JWTAuthContextInfo;
+import io.smallrye.jwt.auth.principal.JWTParser;
+import io.smallrye.jwt.auth.principal.ParseException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.Priority;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Alternative;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.jwt.JsonWebToken;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JWTParser} used to authenticate requests. Tokens that passed
+ * verification are kept, keyed by their SHA-256 digest, until they expire, so
+ * a client sending the same bearer token again skips the RSA signature check
+ * and the claims parsing.
+ * <p>
+ * Only verified tokens are cached; a rejected token is verified again every
+ * time. Entries never outlive the token's {@code exp} claim, nor
+ * {@code jwt.verify-cache.max-ttl}. Cached or not, a token whose {@code jti}
+ * is in the {@link TokenRevocationList} is rejected. The other methods are not
+ * used for request authentication and go straight to the default parser.
+ */
+@Alternative
+@Priority(1)
+@ApplicationScoped
+public class CachingJwtParser implements JWTParser {
+
+    @Inject
+    DefaultJWTParser delegate;
+
+    @Inject
+    TokenRevocationList revocationList;
+
+    @ConfigProperty(name = "jwt.verify-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "jwt.verify-cache.max-size", defaultValue = "10000")
+    long maxSize;
+
+    @ConfigProperty(name = "jwt.verify-cache.max-ttl", defaultValue = "1h")
+    Duration maxTtl;
+
+    private Cache<String, JsonWebToken> verified;
+
+    @PostConstruct
+    void init() {
+        long maxTtlNanos = maxTtl.toNanos();
+        verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, JsonWebToken>() {
+                    @Override
+                    public long expireAfterCreate(String digest, JsonWebToken token, long currentTime) {
+                        long remaining = TimeUnit.SECONDS.toNanos(token.getExpirationTime())
+                                - TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+                        return Math.max(0, Math.min(remaining, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, JsonWebToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, JsonWebToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public JsonWebToken parse(String token) throws ParseException {
+        JsonWebToken jwt = enabled ? parseCached(token) : delegate.parse(token);
+        if (revocationList.isRevoked(jwt.getTokenID())) {
+            throw new ParseException("Token has been revoked");
+        }
+        return jwt;
+    }
+
+    private JsonWebToken parseCached(String token) throws ParseException {
+        String digest = digest(token);
+        JsonWebToken jwt = verified.getIfPresent(digest);
+        if (jwt == null) {
+            jwt = delegate.parse(token);
+            verified.put(digest, jwt);
+        } else if (jwt.getExpirationTime() <= System.currentTimeMillis() / 1000) {
+            // Caffeine evicts lazily; never hand out a token past its exp
+            verified.invalidate(digest);
+            jwt = delegate.parse(token);
+        }
+        return jwt;
+    }
+
+    @Override
+    public JsonWebToken parse(String token, JWTAuthContextInfo context) throws ParseException {
+        return delegate.parse(token, context);
+    }
+
+    @Override
+    public JsonWebToken verify(String token, PublicKey key) throws ParseException {
+        return delegate.verify(token, key);
+    }
+
+    @Override
+    public JsonWebToken verify(String token, SecretKey key) throws ParseException {
+        return delegate.verify(token, key);
+    }
+
+    @Override
+    public JsonWebToken verify(String token, String secret) throws ParseException {
+        return delegate.verify(token, secret);
+    }
+
+    @Override
+    public JsonWebToken decrypt(String token, PrivateKey key) throws ParseException {
+        return delegate.decrypt(token, key);
+    }
+
+    @Override
+    public JsonWebToken decrypt(String token, SecretKey key) throws ParseException {
+        return delegate.decrypt(token, key);
+    }
+
+    @Override
+    public JsonWebToken decrypt(String token, String secret) throws ParseException {
+        return delegate.decrypt(token, secret);
+    }
+
+    @Override
+    public JsonWebToken parseOnly(String token) throws ParseException {
+        return delegate.parseOnly(token);
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,44 +1,88 @@
 package com.api.jwt;
 
+import io.smallrye.jwt.algorithm.SignatureAlgorithm;
 import io.smallrye.jwt.build.Jwt;
 import io.smallrye.jwt.build.JwtClaimsBuilder;
+import io.smallrye.jwt.util.KeyUtils;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.IOException;
+import java.security.Key;
+import java.security.PrivateKey;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
+/**
+ * Issues access tokens. The signing key is read once at startup from
+ * {@code smallrye.jwt.sign.key.location} or {@code smallrye.jwt.sign.key},
+ * instead of being resolved by SmallRye JWT on every {@code sign()}. Without
+ * either property, signing falls back to SmallRye JWT's own key resolution.
+ */
 @ApplicationScoped
 public class JwtUtil {
 
+    private static final Set<String> ADMIN_GROUPS = Set.of("admin", "user");
+
     @ConfigProperty(name = "smallrye.jwt.new-token.issuer")
     String issuer;
 
     @ConfigProperty(name = "smallrye.jwt.new-token.audience")
     String audience;
 
-    public String generateUserToken(String username, String email, String... groups) {
-        return generateToken(username, email, Duration.ofHours(1), groups);
+    @ConfigProperty(name = "smallrye.jwt.sign.key.location")
+    Optional<String> signKeyLocation;
+
+    @ConfigProperty(name = "smallrye.jwt.sign.key")
+    Optional<String> signKey;
+
+    private PrivateKey signingKey;
+    private Map<String, Object> claimsTemplate;
+
+    @PostConstruct
+    void init() {
+        claimsTemplate = Map.of("iss", issuer, "aud", audience);
+        try {
+            Key key = null;
+            if (signKey.isPresent()) {
+                key = KeyUtils.tryAsPemSigningPrivateKey(signKey.get(), SignatureAlgorithm.RS256);
+            } else if (signKeyLocation.isPresent()) {
+                key = KeyUtils.readSigningKey(signKeyLocation.get(), null, SignatureAlgorithm.RS256);
+            }
+            signingKey = key instanceof PrivateKey privateKey ? privateKey : null;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read the JWT signing key", e);
+        }
+    }
+
+    public AccessToken generateUserToken(String username, String email, String... groups) {
+        Set<String> groupSet = groups.length == 1 ? Set.of(groups[0]) : new HashSet<>(Arrays.asList(groups));
+        return generateToken(username, email, Duration.ofHours(1), groupSet);
     }
 
-    public String generateAdminToken(String username, String email) {
-        return generateToken(username, email, Duration.ofHours(8), "admin", "user");
+    public AccessToken generateAdminToken(String username, String email) {
+        return generateToken(username, email, Duration.ofHours(8), ADMIN_GROUPS);
     }
 
-    private String generateToken(String username, String email, Duration duration, String... groups) {
-        JwtClaimsBuilder claimsBuilder = Jwt.claims();
-        
-        Set<String> groupSet = new HashSet<>(Arrays.asList(groups));
-        
-        return claimsBuilder
-                .issuer(issuer)
-                .audience(audience)
+    private AccessToken generateToken(String username, String email, Duration duration, Set<String> groups) {
+        String id = UUID.randomUUID().toString();
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(duration);
+        JwtClaimsBuilder claimsBuilder = Jwt.claims(claimsTemplate)
+                .claim("jti", id)
                 .subject(username)
                 .claim("email", email)
-                .groups(groupSet)
-                .expiresIn(duration)
-                .sign();
+                .groups(groups)
+                .issuedAt(now.getEpochSecond())
+                .expiresAt(expiresAt.getEpochSecond());
+        String token = signingKey != null ? claimsBuilder.sign(signingKey) : claimsBuilder.sign();
+        return new AccessToken(token, id, Instant.ofEpochSecond(expiresAt.getEpochSecond()));
     }
 }
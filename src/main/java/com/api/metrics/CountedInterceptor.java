@@ -0,0 +1,35 @@
+package com.api.metrics;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Counted
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_BEFORE)
+public class CountedInterceptor {
+
+    @Inject
+    MetricsRegistry registry;
+
+    private final Map<Method, LongAdder> counters = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    Object count(InvocationContext context) throws Exception {
+        Method method = context.getMethod();
+        LongAdder counter = counters.get(method);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(method, key -> registry.counter("mapper_conversions_total",
+                    "Calls to mapper conversion methods", "mapper", TimedInterceptor.beanName(key), "method", key.getName()));
+        }
+        counter.increment();
+        return context.proceed();
+    }
+}
@@ -0,0 +1,85 @@
+package com.api.metrics;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Records the latency of every matched REST endpoint in the
+ * {@code http_server_requests_seconds} histogram. It is labelled with the
+ * path template rather than the actual path, so ids do not create new series.
+ */
+@Provider
+public class HttpMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START = HttpMetricsFilter.class.getName() + ".start";
+
+    @Inject
+    MetricsRegistry registry;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        request.setProperty(START, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object start = request.getProperty(START);
+        Method method = resourceInfo.getResourceMethod();
+        if (start == null || method == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - (Long) start;
+        Endpoint endpoint = endpoints.get(method);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(method, key -> new Endpoint(request.getMethod(), template(resourceInfo.getResourceClass(), key)));
+        }
+        endpoint.histogram(response.getStatus()).record(elapsed);
+    }
+
+    private static String template(Class<?> resourceClass, Method method) {
+        Path classPath = resourceClass.getAnnotation(Path.class);
+        Path methodPath = method.getAnnotation(Path.class);
+        String template = (classPath != null ? classPath.value() : "") + (methodPath != null ? "/" + methodPath.value() : "");
+        return template.replaceAll("/+", "/");
+    }
+
+    private final class Endpoint {
+
+        final String httpMethod;
+        final String uri;
+        final AtomicReferenceArray<LatencyHistogram> byStatus = new AtomicReferenceArray<>(600);
+
+        Endpoint(String httpMethod, String uri) {
+            this.httpMethod = httpMethod;
+            this.uri = uri;
+        }
+
+        LatencyHistogram histogram(int status) {
+            int index = status >= 0 && status < 600 ? status : 0;
+            LatencyHistogram histogram = byStatus.get(index);
+            if (histogram == null) {
+                histogram = registry.histogram("http_server_requests_seconds", "Latency of REST endpoints",
+                        "method", httpMethod, "uri", uri, "status", Integer.toString(status));
+                byStatus.set(index, histogram);
+            }
+            return histogram;
+        }
+    }
+}
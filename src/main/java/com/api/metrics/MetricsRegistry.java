@@ -0,0 +1,125 @@
+package com.api.metrics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Holds the application's metrics and renders them in the Prometheus text
+ * format. Looking up a metric builds its key, so hot paths should look it up
+ * once and keep the returned instance.
+ */
+@ApplicationScoped
+public class MetricsRegistry {
+
+    private final Map<String, Family<LatencyHistogram>> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, Family<LongAdder>> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Family<DoubleSupplier>> gauges = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param labels alternating label names and values
+     */
+    public LatencyHistogram histogram(String name, String help, String... labels) {
+        return family(histograms, name, help, "histogram").get(labels, LatencyHistogram::new);
+    }
+
+    public LongAdder counter(String name, String help, String... labels) {
+        return family(counters, name, help, "counter").get(labels, LongAdder::new);
+    }
+
+    /**
+     * Registers a value read at scrape time. {@code type} is "gauge" or, for
+     * values that only grow, "counter".
+     */
+    public void gauge(String name, String help, String type, DoubleSupplier value, String... labels) {
+        family(gauges, name, help, type).get(labels, () -> value);
+    }
+
+    public String scrape() {
+        StringBuilder out = new StringBuilder(4096);
+        histograms.forEach((name, family) -> {
+            family.header(out, name);
+            family.series.forEach((labels, histogram) -> {
+                long[] counts = histogram.counts();
+                long cumulative = 0;
+                for (int i = 0; i < counts.length; i++) {
+                    cumulative += counts[i];
+                    String bound = i < LatencyHistogram.BOUNDS.length ? Double.toString(LatencyHistogram.BOUNDS[i]) : "+Inf";
+                    sample(out, name + "_bucket", join(labels, "le=\"" + bound + "\""), cumulative);
+                }
+                sample(out, name + "_sum", labels, histogram.sumSeconds());
+                sample(out, name + "_count", labels, cumulative);
+            });
+        });
+        counters.forEach((name, family) -> {
+            family.header(out, name);
+            family.series.forEach((labels, counter) -> sample(out, name, labels, counter.sum()));
+        });
+        gauges.forEach((name, family) -> {
+            family.header(out, name);
+            family.series.forEach((labels, gauge) -> sample(out, name, labels, gauge.getAsDouble()));
+        });
+        return out.toString();
+    }
+
+    private static <T> Family<T> family(Map<String, Family<T>> families, String name, String help, String type) {
+        return families.computeIfAbsent(name, key -> new Family<>(help, type));
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    private static String join(String labels, String label) {
+        return labels.isEmpty() ? label : labels + "," + label;
+    }
+
+    private static final class Family<T> {
+
+        final String help;
+        final String type;
+        final Map<String, T> series = new ConcurrentSkipListMap<>();
+
+        Family(String help, String type) {
+            this.help = help;
+            this.type = type;
+        }
+
+        T get(String[] labels, Supplier<T> factory) {
+            if (labels.length % 2 != 0) {
+                throw new IllegalArgumentException("Labels must be name and value pairs");
+            }
+            StringBuilder key = new StringBuilder();
+            for (int i = 0; i < labels.length; i += 2) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                key.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+            }
+            return series.computeIfAbsent(key.toString(), ignored -> factory.get());
+        }
+
+        void header(StringBuilder out, String name) {
+            out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.api.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+
+/**
+ * Hands every Mongo command to the {@link QueryRecorder}. Registered with the
+ * Mongo client automatically.
+ */
+public class MongoCommandCapture implements CommandListener {
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        QueryRecorder.statement(event.getCommand().toJson());
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps a parameter of a {@link RecordedQueries} method out of the slowest
+ * calls list. Use it for anything credential-bearing, such as password hashes.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NotRecorded {
+}
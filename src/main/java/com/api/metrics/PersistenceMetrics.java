@@ -0,0 +1,72 @@
+package com.api.metrics;
+
+import com.api.product.infrastructure.cache.ProductCache;
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Exports Hibernate statistics ({@code quarkus.hibernate-orm.statistics}), the
+ * JDBC pool's metrics ({@code quarkus.datasource.jdbc.enable-metrics}) and the
+ * product cache statistics. They are read at scrape time, so they add nothing
+ * to the request path beyond what Hibernate and Agroal already count.
+ */
+@ApplicationScoped
+public class PersistenceMetrics {
+
+    @Inject
+    MetricsRegistry registry;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    AgroalDataSource dataSource;
+
+    @Inject
+    ProductCache productCache;
+
+    void register(@Observes StartupEvent event) {
+        Statistics hibernate = sessionFactory.getStatistics();
+        registry.gauge("hibernate_query_executions_total", "HQL and criteria queries executed", "counter",
+                hibernate::getQueryExecutionCount);
+        registry.gauge("hibernate_query_execution_max_seconds", "Slowest query executed so far", "gauge",
+                () -> hibernate.getQueryExecutionMaxTime() / 1e3);
+        registry.gauge("hibernate_statements_prepared_total", "JDBC statements prepared", "counter",
+                hibernate::getPrepareStatementCount);
+        registry.gauge("hibernate_entity_loads_total", "Entities loaded", "counter",
+                hibernate::getEntityLoadCount);
+        registry.gauge("hibernate_entity_fetches_total", "Entities fetched lazily", "counter",
+                hibernate::getEntityFetchCount);
+        registry.gauge("hibernate_flushes_total", "Session flushes", "counter",
+                hibernate::getFlushCount);
+        registry.gauge("hibernate_transactions_total", "Transactions completed", "counter",
+                hibernate::getTransactionCount);
+
+        AgroalDataSourceMetrics pool = dataSource.getMetrics();
+        registry.gauge("datasource_connections_active", "Connections in use", "gauge",
+                pool::activeCount);
+        registry.gauge("datasource_connections_available", "Idle connections", "gauge",
+                pool::availableCount);
+        registry.gauge("datasource_connections_awaiting", "Threads waiting for a connection", "gauge",
+                pool::awaitingCount);
+        registry.gauge("datasource_acquires_total", "Connections acquired", "counter",
+                pool::acquireCount);
+        registry.gauge("datasource_wait_seconds_total", "Total time spent waiting for a connection", "counter",
+                () -> pool.blockingTimeTotal().toNanos() / 1e9);
+        registry.gauge("datasource_wait_max_seconds", "Longest wait for a connection", "gauge",
+                () -> pool.blockingTimeMax().toNanos() / 1e9);
+
+        registry.gauge("product_cache_size", "Entries in the product cache", "gauge",
+                () -> ((Number) productCache.stats().get("size")).doubleValue());
+        registry.gauge("product_cache_hits_total", "Product cache hits", "counter",
+                () -> ((Number) productCache.stats().get("hits")).doubleValue());
+        registry.gauge("product_cache_misses_total", "Product cache misses", "counter",
+                () -> ((Number) productCache.stats().get("misses")).doubleValue());
+    }
+}
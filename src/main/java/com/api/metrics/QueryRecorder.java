@@ -0,0 +1,200 @@
+package com.api.metrics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Latency per repository method, in {@link PercentileHistogram}s, plus the N
+ * slowest calls with their parameters and the SQL or Mongo commands they ran.
+ * <p>
+ * Statements are captured per thread while a recorded call is running. The
+ * common path only stores references to strings that Hibernate or the Mongo
+ * driver already built. Parameters are formatted, and statements copied, only
+ * for a call slow enough to enter the slowest list. Parameters marked
+ * {@link NotRecorded} are replaced by a placeholder.
+ */
+@ApplicationScoped
+public class QueryRecorder {
+
+    static final int MAX_STATEMENTS = 8;
+    private static final int MAX_TEXT = 500;
+    static final String REDACTED = "[not recorded]";
+
+    private static final ThreadLocal<Capture> CAPTURE = ThreadLocal.withInitial(Capture::new);
+
+    @ConfigProperty(name = "metrics.queries.slowest-size", defaultValue = "20")
+    int slowestSize;
+
+    private final Map<Method, PercentileHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final ReentrantLock slowestLock = new ReentrantLock();
+    private final List<SlowQuery> slowest = new ArrayList<>();
+    // Duration a call must exceed to enter the slowest list; 0 until the list is full
+    private volatile long slowestThreshold;
+
+    /**
+     * Called by the Hibernate statement inspector and the Mongo command
+     * listener for every statement sent to a database.
+     */
+    static void statement(String text) {
+        Capture capture = CAPTURE.get();
+        if (capture.depth > 0) {
+            if (capture.statementCount < MAX_STATEMENTS) {
+                capture.statements[capture.statementCount] = text;
+            }
+            capture.statementCount++;
+        }
+    }
+
+    static Capture capture() {
+        return CAPTURE.get();
+    }
+
+    void record(Method method, Object[] parameters, long nanos, Capture capture) {
+        long micros = nanos / 1000;
+        PercentileHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method, key -> new PercentileHistogram());
+        }
+        histogram.record(micros);
+        if (micros > slowestThreshold) {
+            offerSlow(method, parameters, micros, capture);
+        }
+    }
+
+    private void offerSlow(Method method, Object[] parameters, long micros, Capture capture) {
+        slowestLock.lock();
+        try {
+            if (micros <= slowestThreshold) {
+                return;
+            }
+            if (slowest.size() >= slowestSize) {
+                slowest.remove(slowest.size() - 1);
+            }
+            slowest.add(new SlowQuery(name(method), micros / 1000.0, Instant.now(),
+                    format(method, parameters), capture.statements(), capture.statementCount));
+            slowest.sort(Comparator.comparingDouble(SlowQuery::durationMs).reversed());
+            if (slowest.size() >= slowestSize) {
+                slowestThreshold = (long) (slowest.get(slowest.size() - 1).durationMs() * 1000);
+            }
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+
+    /**
+     * Methods ordered by total time spent, the biggest consumer first.
+     */
+    public List<MethodStats> methodStats() {
+        List<MethodStats> stats = new ArrayList<>(histograms.size());
+        histograms.forEach((method, histogram) -> stats.add(new MethodStats(name(method), histogram.count(),
+                histogram.sum() / 1000.0, histogram.percentile(50) / 1000.0, histogram.percentile(90) / 1000.0,
+                histogram.percentile(99) / 1000.0, histogram.percentile(99.9) / 1000.0, histogram.max() / 1000.0)));
+        stats.sort(Comparator.comparingDouble(MethodStats::totalMs).reversed());
+        return stats;
+    }
+
+    public List<SlowQuery> slowest() {
+        slowestLock.lock();
+        try {
+            return List.copyOf(slowest);
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+
+    public void reset() {
+        histograms.clear();
+        slowestLock.lock();
+        try {
+            slowest.clear();
+            slowestThreshold = 0;
+        } finally {
+            slowestLock.unlock();
+        }
+    }
+
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static List<String> format(Method method, Object[] parameters) {
+        if (parameters == null) {
+            return List.of();
+        }
+        Annotation[][] annotations = method.getParameterAnnotations();
+        List<String> formatted = new ArrayList<>(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            Object parameter = parameters[i];
+            String text = isNotRecorded(annotations, i) ? REDACTED
+                    : parameter instanceof long[] ids ? Arrays.toString(ids)
+                    : parameter instanceof Object[] values ? Arrays.toString(values)
+                    : String.valueOf(parameter);
+            formatted.add(truncate(text));
+        }
+        return formatted;
+    }
+
+    private static boolean isNotRecorded(Annotation[][] annotations, int index) {
+        if (index >= annotations.length) {
+            return false;
+        }
+        for (Annotation annotation : annotations[index]) {
+            if (annotation instanceof NotRecorded) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_TEXT ? text : text.substring(0, MAX_TEXT) + "...";
+    }
+
+    /**
+     * Per-thread state of the recorded call in progress. Nested recorded
+     * calls are attributed to the outermost one.
+     */
+    static final class Capture {
+
+        int depth;
+        int statementCount;
+        final String[] statements = new String[MAX_STATEMENTS];
+
+        void reset() {
+            statementCount = 0;
+            Arrays.fill(statements, null);
+        }
+
+        List<String> statements() {
+            List<String> copy = new ArrayList<>(Math.min(statementCount, MAX_STATEMENTS));
+            for (int i = 0; i < Math.min(statementCount, MAX_STATEMENTS); i++) {
+                copy.add(truncate(statements[i]));
+            }
+            return copy;
+        }
+    }
+
+    public record MethodStats(String method, long count, double totalMs, double p50Ms, double p90Ms,
+            double p99Ms, double p999Ms, double maxMs) {
+    }
+
+    /**
+     * @param statementCount statements run by the call; only the first
+     *                       {@value QueryRecorder#MAX_STATEMENTS} are kept
+     */
+    public record SlowQuery(String method, double durationMs, Instant at, List<String> parameters,
+            List<String> statements, int statementCount) {
+    }
+}
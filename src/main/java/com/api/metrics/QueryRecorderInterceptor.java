@@ -0,0 +1,39 @@
+package com.api.metrics;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+@RecordedQueries
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_BEFORE + 1)
+public class QueryRecorderInterceptor {
+
+    @Inject
+    QueryRecorder recorder;
+
+    @AroundInvoke
+    Object record(InvocationContext context) throws Exception {
+        QueryRecorder.Capture capture = QueryRecorder.capture();
+        if (capture.depth > 0) {
+            capture.depth++;
+            try {
+                return context.proceed();
+            } finally {
+                capture.depth--;
+            }
+        }
+        capture.reset();
+        capture.depth = 1;
+        long start = System.nanoTime();
+        try {
+            return context.proceed();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            capture.depth = 0;
+            recorder.record(context.getMethod(), context.getParameters(), elapsed, capture);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.api.metrics;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands every SQL statement Hibernate prepares to the {@link QueryRecorder}.
+ */
+@PersistenceUnitExtension
+public class SqlCaptureInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryRecorder.statement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,45 @@
+package com.api.metrics;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Timed
+@Interceptor
+@Priority(Interceptor.Priority.LIBRARY_BEFORE)
+public class TimedInterceptor {
+
+    @Inject
+    MetricsRegistry registry;
+
+    private final Map<Method, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    Object time(InvocationContext context) throws Exception {
+        long start = System.nanoTime();
+        try {
+            return context.proceed();
+        } finally {
+            histogram(context.getMethod()).record(System.nanoTime() - start);
+        }
+    }
+
+    private LatencyHistogram histogram(Method method) {
+        LatencyHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method, key -> registry.histogram("repository_call_seconds",
+                    "Latency of repository calls", "repository", beanName(key), "method", key.getName()));
+        }
+        return histogram;
+    }
+
+    static String beanName(Method method) {
+        return method.getDeclaringClass().getSimpleName();
+    }
+}
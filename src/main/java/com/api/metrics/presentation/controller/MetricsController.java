@@ -0,0 +1,24 @@
+package com.api.metrics.presentation.controller;
+
+import com.api.metrics.MetricsRegistry;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+@Path("/q/metrics")
+@Tag(name = "Metrics", description = "Prometheus metrics")
+public class MetricsController {
+
+    @Inject
+    MetricsRegistry registry;
+
+    @GET
+    @Produces("text/plain; version=0.0.4; charset=utf-8")
+    @Operation(summary = "Prometheus metrics", description = "All application metrics in the Prometheus text format")
+    public String scrape() {
+        return registry.scrape();
+    }
+}
@@ -0,0 +1,42 @@
+package com.api.metrics.presentation.controller;
+
+import com.api.metrics.QueryRecorder;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+
+import java.util.Map;
+
+@Path("/api/admin/queries")
+@Produces(MediaType.APPLICATION_JSON)
+@RolesAllowed("admin")
+@SecurityRequirement(name = "JWT")
+@Tag(name = "Metrics", description = "Prometheus metrics")
+@RunOnVirtualThread
+public class QueryStatsController {
+
+    @Inject
+    QueryRecorder recorder;
+
+    @GET
+    @Operation(summary = "Get repository query statistics (requires ADMIN role)",
+            description = "Latency percentiles per repository method, ordered by total time, and the slowest calls "
+                    + "with their parameters and the statements they ran")
+    public Map<String, Object> getQueryStats() {
+        return Map.of("methods", recorder.methodStats(), "slowest", recorder.slowest());
+    }
+
+    @DELETE
+    @Operation(summary = "Reset repository query statistics (requires ADMIN role)")
+    public void reset() {
+        recorder.reset();
+    }
+}
@@ -1,10 +1,12 @@
 package com.api.person.infrastructure.repository;
 
 import com.api.person.domain.Pessoa;
+import com.api.metrics.RecordedQueries;
 import io.quarkus.mongodb.panache.PanacheMongoRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
 @ApplicationScoped
+@RecordedQueries
 public class PessoaRepository implements PanacheMongoRepository<Pessoa> {
     // Métodos customizados podem ser adicionados aqui
 }
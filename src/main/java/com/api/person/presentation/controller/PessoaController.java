@@ -2,6 +2,7 @@ package com.api.person.presentation.controller;
 
 import com.api.person.application.dto.PessoaDTO;
 import com.api.person.application.service.PessoaService;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
 import jakarta.ws.rs.core.MediaType;
@@ -10,6 +11,7 @@ import java.util.List;
 @Path("/pessoas")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
+@RunOnVirtualThread
 public class PessoaController {
     @Inject
     PessoaService pessoaService;
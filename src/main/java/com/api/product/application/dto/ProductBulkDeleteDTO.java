@@ -0,0 +1,54 @@
+package com.api.product.application.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object selecting products to delete, either by id or by
+ * filter. Filter criteria that are set must all match.
+ */
+public class ProductBulkDeleteDTO {
+    
+    private List<@NotNull(message = "ids must not contain null") Long> ids;
+    
+    private String skuPrefix;
+    
+    private Boolean outOfStock;
+    
+    private LocalDateTime notUpdatedSince;
+    
+    // Getters and setters
+    public List<Long> getIds() {
+        return ids;
+    }
+    
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    public String getSkuPrefix() {
+        return skuPrefix;
+    }
+    
+    public void setSkuPrefix(String skuPrefix) {
+        this.skuPrefix = skuPrefix;
+    }
+    
+    public Boolean getOutOfStock() {
+        return outOfStock;
+    }
+    
+    public void setOutOfStock(Boolean outOfStock) {
+        this.outOfStock = outOfStock;
+    }
+    
+    public LocalDateTime getNotUpdatedSince() {
+        return notUpdatedSince;
+    }
+    
+    public void setNotUpdatedSince(LocalDateTime notUpdatedSince) {
+        this.notUpdatedSince = notUpdatedSince;
+    }
+}
@@ -31,6 +31,8 @@ public class ProductDTO {
     
     private String sku;
     
+    private Long version;
+    
     // Getters and setters
     public Long getId() {
         return id;
@@ -95,4 +97,12 @@ public class ProductDTO {
     public void setSku(String sku) {
         this.sku = sku;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
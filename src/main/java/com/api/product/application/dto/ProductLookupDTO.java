@@ -0,0 +1,42 @@
+package com.api.product.application.dto;
+
+import com.api.product.domain.ProductView;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for products looked up by a list of keys (ids or
+ * SKUs). Items follow the order of the requested keys; keys that matched no
+ * product are listed in {@code missing}.
+ */
+public class ProductLookupDTO<K> {
+    
+    private List<ProductView> items;
+    
+    private List<K> missing;
+    
+    public ProductLookupDTO() {
+    }
+    
+    public ProductLookupDTO(List<ProductView> items, List<K> missing) {
+        this.items = items;
+        this.missing = missing;
+    }
+    
+    // Getters and setters
+    public List<ProductView> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<ProductView> items) {
+        this.items = items;
+    }
+    
+    public List<K> getMissing() {
+        return missing;
+    }
+    
+    public void setMissing(List<K> missing) {
+        this.missing = missing;
+    }
+}
@@ -0,0 +1,40 @@
+package com.api.product.application.dto;
+
+import com.api.product.domain.ProductView;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a page of products
+ */
+public class ProductPageDTO {
+    
+    private List<ProductView> items;
+    
+    private String nextCursor;
+    
+    public ProductPageDTO() {
+    }
+    
+    public ProductPageDTO(List<ProductView> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+    
+    // Getters and setters
+    public List<ProductView> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<ProductView> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,146 @@
+package com.api.product.application.importer;
+
+import com.api.product.application.dto.ProductDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row naming the {@link ProductDTO} fields
+ * ({@code name}, {@code description}, {@code price}, {@code stockQuantity},
+ * {@code sku}) in any order. {@code name} and {@code price} columns are
+ * required; unknown columns are ignored. Quoted fields may contain commas,
+ * doubled quotes and line breaks. Blank lines are skipped and not counted.
+ */
+final class CsvProductFeedParser implements ProductFeedParser {
+
+    private final BufferedReader reader;
+    private final int name;
+    private final int description;
+    private final int price;
+    private final int stockQuantity;
+    private final int sku;
+    private final int columns;
+    private final StringBuilder field = new StringBuilder();
+    private long row;
+
+    CsvProductFeedParser(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV feed is empty");
+        }
+        this.columns = header.size();
+        this.name = column(header, "name", true);
+        this.description = column(header, "description", false);
+        this.price = column(header, "price", true);
+        this.stockQuantity = column(header, "stockquantity", false);
+        this.sku = column(header, "sku", false);
+    }
+
+    private static int column(List<String> header, String column, boolean required) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).strip().toLowerCase(Locale.ROOT).equals(column)) {
+                return i;
+            }
+        }
+        if (required) {
+            throw new IllegalArgumentException("CSV header has no '" + column + "' column");
+        }
+        return -1;
+    }
+
+    @Override
+    public FeedRow next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+
+        row++;
+        if (record.size() != columns) {
+            return FeedRow.rejected(row, "Expected " + columns + " columns but found " + record.size());
+        }
+        ProductDTO product = new ProductDTO();
+        product.setName(text(record, name));
+        product.setDescription(text(record, description));
+        product.setSku(text(record, sku));
+        try {
+            String priceText = text(record, price);
+            product.setPrice(priceText != null ? new BigDecimal(priceText) : null);
+            String stockText = text(record, stockQuantity);
+            product.setStockQuantity(stockText != null ? Integer.valueOf(stockText) : null);
+        } catch (NumberFormatException e) {
+            return FeedRow.rejected(row, "Invalid number: " + e.getMessage());
+        }
+        return FeedRow.parsed(row, product);
+    }
+
+    private static String text(List<String> record, int column) {
+        if (column < 0) {
+            return null;
+        }
+        String value = record.get(column).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads one record, which may span several lines when a quoted field
+     * contains line breaks. Returns {@code null} at the end of input.
+     */
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> record = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        record.add(field.toString());
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,46 @@
+package com.api.product.application.importer;
+
+import com.api.product.application.dto.ProductDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON product per line. Blank lines are skipped and not counted as rows.
+ */
+final class NdjsonProductFeedParser implements ProductFeedParser {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private long row;
+
+    NdjsonProductFeedParser(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public FeedRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        row++;
+        try {
+            return FeedRow.parsed(row, objectMapper.readValue(line, ProductDTO.class));
+        } catch (JsonProcessingException e) {
+            return FeedRow.rejected(row, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
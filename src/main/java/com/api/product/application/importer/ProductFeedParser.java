@@ -0,0 +1,31 @@
+package com.api.product.application.importer;
+
+import com.api.product.application.dto.ProductDTO;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads a product feed one row at a time, so memory use does not depend on
+ * the size of the feed.
+ */
+interface ProductFeedParser extends Closeable {
+
+    /**
+     * Returns the next row, or {@code null} at the end of the feed. Rows are
+     * numbered from 1 in feed order; a row that cannot be parsed is returned
+     * with an error instead of a product.
+     */
+    FeedRow next() throws IOException;
+
+    record FeedRow(long number, ProductDTO product, String error) {
+
+        static FeedRow parsed(long number, ProductDTO product) {
+            return new FeedRow(number, product, null);
+        }
+
+        static FeedRow rejected(long number, String error) {
+            return new FeedRow(number, null, error);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.api.product.application.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Supported product feed formats.
+ */
+public enum ProductImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ProductImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves a format from a request parameter, a media type or a file name.
+     */
+    public static ProductImportFormat from(String value) {
+        if (value != null) {
+            String lower = value.toLowerCase(Locale.ROOT);
+            for (ProductImportFormat format : values()) {
+                String name = format.name().toLowerCase(Locale.ROOT);
+                if (lower.equals(name) || lower.startsWith(format.mediaType) || lower.endsWith("." + name)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported feed format: " + value + " (expected csv or ndjson)");
+    }
+
+    ProductFeedParser open(InputStream input, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        return switch (this) {
+            case CSV -> new CsvProductFeedParser(reader);
+            case NDJSON -> new NdjsonProductFeedParser(reader, objectMapper);
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.api.product.application.importer;
+
+import com.api.product.domain.ProductImportStatus;
+
+import java.util.List;
+
+/**
+ * Outcome of a product feed import. Counters are cumulative over every run of
+ * the same import id; {@code rowsPerSecond} and {@code rejections} cover only
+ * the run that produced the report.
+ *
+ * @param rowsRead   feed rows committed so far, imported or rejected; a resumed run skips them
+ * @param rejections the first rejected rows of this run with the reason, up to
+ *                   {@code product.import.max-reported-rejections}
+ * @param error      why the run failed, or {@code null}
+ */
+public record ProductImportReport(
+        String importId,
+        ProductImportStatus status,
+        long rowsRead,
+        long imported,
+        long rejected,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RejectedRow> rejections,
+        String error) {
+
+    public record RejectedRow(long row, String reason) {
+    }
+}
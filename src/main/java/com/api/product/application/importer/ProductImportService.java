@@ -0,0 +1,345 @@
+package com.api.product.application.importer;
+
+import com.api.product.application.dto.ProductDTO;
+import com.api.product.application.mapper.ProductDtoMapper;
+import com.api.product.application.service.ProductService;
+import com.api.product.domain.Product;
+import com.api.product.domain.ProductImportStatus;
+import com.api.product.infrastructure.entity.ProductImportEntity;
+import com.api.product.infrastructure.repository.ProductImportJpaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Imports product feeds of any size as a three-stage pipeline: a parser
+ * thread, a validator thread and the calling thread, which commits chunks of
+ * {@code product.import.chunk-size} products. The stages are connected by
+ * bounded queues, so a slow database stalls validation and parsing instead of
+ * buffering the feed in memory.
+ *
+ * <p>Each chunk is committed together with the import checkpoint. Running an
+ * import again with the same id skips the rows that were already committed,
+ * so an interrupted import resumes where it stopped. Only one run at a time
+ * may hold an import id; a run left behind by a stopped instance is taken
+ * over once it has not committed for {@code product.import.stale-after}.
+ */
+@ApplicationScoped
+public class ProductImportService {
+
+    private static final Logger LOG = Logger.getLogger(ProductImportService.class);
+
+    private static final long POLL_MILLIS = 100;
+
+    @Inject
+    ProductService productService;
+
+    @Inject
+    ProductImportJpaRepository importRepository;
+
+    @Inject
+    ProductDtoMapper mapper;
+
+    @Inject
+    Validator validator;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "product.import.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    @ConfigProperty(name = "product.import.queue-capacity", defaultValue = "10000")
+    int queueCapacity;
+
+    @ConfigProperty(name = "product.import.max-reported-rejections", defaultValue = "100")
+    int maxReportedRejections;
+
+    @ConfigProperty(name = "product.import.stale-after", defaultValue = "10m")
+    Duration staleAfter;
+
+    /**
+     * Imports {@code input} and returns when the whole feed has been committed
+     * or the import failed. A null {@code importId} starts a new import; an id
+     * of a failed or interrupted import resumes it.
+     */
+    public ProductImportReport importFeed(InputStream input, ProductImportFormat format, String importId) {
+        String id = importId != null && !importId.isBlank() ? importId : UUID.randomUUID().toString();
+        long skip;
+        try {
+            skip = QuarkusTransaction.requiringNew().call(() -> begin(id, format));
+        } catch (PersistenceException e) {
+            // A concurrent request created the checkpoint first
+            throw alreadyRunning(id);
+        }
+
+        ProductFeedParser parser;
+        try {
+            parser = format.open(input, objectMapper);
+        } catch (IllegalArgumentException e) {
+            finish(id, ProductImportStatus.FAILED);
+            throw new BadRequestException(e.getMessage());
+        } catch (IOException e) {
+            finish(id, ProductImportStatus.FAILED);
+            throw new IllegalStateException("Could not read product feed", e);
+        }
+
+        Pipeline pipeline = new Pipeline(queueCapacity);
+        long start = System.nanoTime();
+        Thread parse = Thread.ofPlatform().daemon().name("product-import-parse-" + id)
+                .start(() -> parse(parser, skip, pipeline));
+        Thread validate = Thread.ofPlatform().daemon().name("product-import-validate-" + id)
+                .start(() -> validate(skip, pipeline));
+
+        List<ProductImportReport.RejectedRow> rejections = new ArrayList<>();
+        long lastRow = skip;
+        try {
+            Chunk chunk;
+            while ((chunk = pipeline.take(pipeline.chunks)) != Chunk.END && chunk != null) {
+                commit(id, chunk);
+                lastRow = chunk.lastRow();
+                rejections.addAll(chunk.rejections());
+                LOG.debugf("Import %s committed through row %d", id, lastRow);
+            }
+        } catch (RuntimeException e) {
+            pipeline.fail(e);
+        }
+        join(parse);
+        join(validate);
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = (lastRow - skip) * 1000.0 / Math.max(elapsedMillis, 1);
+        Throwable failure = pipeline.failure.get();
+        ProductImportEntity checkpoint = finish(id, failure == null ? ProductImportStatus.COMPLETED : ProductImportStatus.FAILED);
+        if (failure != null) {
+            LOG.errorf(failure, "Import %s failed after row %d", id, lastRow);
+        } else {
+            LOG.infof("Import %s completed: %d rows, %d imported, %d rejected, %.0f rows/s",
+                    id, checkpoint.getRowsRead(), checkpoint.getImported(), checkpoint.getRejected(), rowsPerSecond);
+        }
+        return report(checkpoint, elapsedMillis, rowsPerSecond, rejections,
+                failure != null ? String.valueOf(failure.getMessage()) : null);
+    }
+
+    /**
+     * Current state of an import, from its checkpoint.
+     */
+    public ProductImportReport getImport(String importId) {
+        ProductImportEntity checkpoint = QuarkusTransaction.requiringNew().call(() -> importRepository.findById(importId))
+                .orElseThrow(() -> new NotFoundException("Import not found with id: " + importId));
+        return report(checkpoint, 0, 0, List.of(), null);
+    }
+
+    /**
+     * Creates the checkpoint, or claims it to resume, and returns the number
+     * of rows already committed.
+     */
+    private long begin(String id, ProductImportFormat format) {
+        LocalDateTime now = LocalDateTime.now();
+        ProductImportEntity checkpoint = importRepository.findById(id).orElse(null);
+        if (checkpoint == null) {
+            checkpoint = new ProductImportEntity();
+            checkpoint.setId(id);
+            checkpoint.setFormat(format.name());
+            checkpoint.setStartedAt(now);
+            checkpoint.setStatus(ProductImportStatus.RUNNING);
+            checkpoint.setUpdatedAt(now);
+            importRepository.saveAndFlush(checkpoint);
+            return 0;
+        }
+        if (checkpoint.getStatus() == ProductImportStatus.COMPLETED) {
+            throw new ClientErrorException("Import " + id + " is already completed", Response.Status.CONFLICT);
+        }
+        if (!checkpoint.getFormat().equals(format.name())) {
+            throw new BadRequestException("Import " + id + " was started as " + checkpoint.getFormat());
+        }
+        if (importRepository.claim(id, now, now.minus(staleAfter), ProductImportStatus.RUNNING, ProductImportStatus.FAILED) == 0) {
+            throw alreadyRunning(id);
+        }
+        return checkpoint.getRowsRead();
+    }
+
+    private static ClientErrorException alreadyRunning(String id) {
+        return new ClientErrorException("Import " + id + " is already running", Response.Status.CONFLICT);
+    }
+
+    private void commit(String id, Chunk chunk) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            if (!chunk.products().isEmpty()) {
+                productService.importProducts(chunk.products());
+            }
+            ProductImportEntity checkpoint = importRepository.findById(id).orElseThrow();
+            checkpoint.setRowsRead(chunk.lastRow());
+            checkpoint.setImported(checkpoint.getImported() + chunk.products().size());
+            checkpoint.setRejected(checkpoint.getRejected() + chunk.rejected());
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+        });
+    }
+
+    private ProductImportEntity finish(String id, ProductImportStatus status) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            ProductImportEntity checkpoint = importRepository.findById(id).orElseThrow();
+            checkpoint.setStatus(status);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            return checkpoint;
+        });
+    }
+
+    private static ProductImportReport report(ProductImportEntity checkpoint, long elapsedMillis, double rowsPerSecond,
+                                              List<ProductImportReport.RejectedRow> rejections, String error) {
+        return new ProductImportReport(checkpoint.getId(), checkpoint.getStatus(), checkpoint.getRowsRead(),
+                checkpoint.getImported(), checkpoint.getRejected(), elapsedMillis, rowsPerSecond, rejections, error);
+    }
+
+    private void parse(ProductFeedParser parser, long skip, Pipeline pipeline) {
+        try (parser) {
+            ProductFeedParser.FeedRow row;
+            while ((row = parser.next()) != null) {
+                if (row.number() > skip && !pipeline.put(pipeline.rows, row)) {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            pipeline.fail(e);
+        } finally {
+            pipeline.put(pipeline.rows, Pipeline.END_OF_ROWS);
+        }
+    }
+
+    private void validate(long skip, Pipeline pipeline) {
+        List<Product> products = new ArrayList<>(chunkSize);
+        List<ProductImportReport.RejectedRow> rejections = new ArrayList<>();
+        int rejected = 0;
+        int reported = 0;
+        long lastRow = skip;
+        try {
+            ProductFeedParser.FeedRow row;
+            while ((row = pipeline.take(pipeline.rows)) != Pipeline.END_OF_ROWS && row != null) {
+                lastRow = row.number();
+                String error = row.error() != null ? row.error() : violations(row.product());
+                if (error == null) {
+                    products.add(mapper.toDomain(row.product()));
+                } else {
+                    rejected++;
+                    if (reported++ < maxReportedRejections) {
+                        rejections.add(new ProductImportReport.RejectedRow(row.number(), error));
+                    }
+                }
+                if (products.size() == chunkSize) {
+                    if (!pipeline.put(pipeline.chunks, new Chunk(products, lastRow, rejected, rejections))) {
+                        return;
+                    }
+                    products = new ArrayList<>(chunkSize);
+                    rejections = new ArrayList<>();
+                    rejected = 0;
+                }
+            }
+            if (row != null && (!products.isEmpty() || rejected > 0)) {
+                pipeline.put(pipeline.chunks, new Chunk(products, lastRow, rejected, rejections));
+            }
+        } catch (RuntimeException e) {
+            pipeline.fail(e);
+        } finally {
+            pipeline.put(pipeline.chunks, Chunk.END);
+        }
+    }
+
+    private String violations(ProductDTO product) {
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Chunk(List<Product> products, long lastRow, int rejected,
+                         List<ProductImportReport.RejectedRow> rejections) {
+
+        static final Chunk END = new Chunk(List.of(), -1, 0, List.of());
+    }
+
+    /**
+     * Queues between the stages. Once any stage fails, puts and takes give up
+     * so the other stages stop instead of blocking on a full or empty queue.
+     */
+    private static final class Pipeline {
+
+        static final ProductFeedParser.FeedRow END_OF_ROWS = ProductFeedParser.FeedRow.rejected(-1, null);
+
+        final BlockingQueue<ProductFeedParser.FeedRow> rows;
+        final BlockingQueue<Chunk> chunks = new ArrayBlockingQueue<>(2);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Pipeline(int capacity) {
+            rows = new ArrayBlockingQueue<>(capacity);
+        }
+
+        void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+
+        <T> boolean put(BlockingQueue<T> queue, T item) {
+            try {
+                while (failure.get() == null) {
+                    if (queue.offer(item, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+            return false;
+        }
+
+        <T> T take(BlockingQueue<T> queue) {
+            try {
+                while (failure.get() == null) {
+                    T item = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (item != null) {
+                        return item;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+            return null;
+        }
+    }
+}
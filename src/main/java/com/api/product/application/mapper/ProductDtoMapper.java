@@ -1,7 +1,10 @@
 package com.api.product.application.mapper;
 
+import com.api.metrics.Counted;
 import com.api.product.application.dto.ProductDTO;
+import com.api.product.application.dto.ProductPatchDTO;
 import com.api.product.domain.Product;
+import com.api.product.domain.ProductPatch;
 import jakarta.enterprise.context.ApplicationScoped;
 
 import java.util.List;
@@ -11,6 +14,7 @@ import java.util.stream.Collectors;
  * Mapper to convert between Product domain model and DTOs
  */
 @ApplicationScoped
+@Counted
 public class ProductDtoMapper {
     
     public ProductDTO toDto(Product domain) {
@@ -27,6 +31,7 @@ public class ProductDtoMapper {
         dto.setCreatedAt(domain.getCreatedAt());
         dto.setUpdatedAt(domain.getUpdatedAt());
         dto.setSku(domain.getSku());
+        dto.setVersion(domain.getVersion());
         
         return dto;
     }
@@ -45,10 +50,15 @@ public class ProductDtoMapper {
         domain.setCreatedAt(dto.getCreatedAt());
         domain.setUpdatedAt(dto.getUpdatedAt());
         domain.setSku(dto.getSku());
+        domain.setVersion(dto.getVersion());
         
         return domain;
     }
     
+    public ProductPatch toPatch(ProductPatchDTO dto) {
+        return new ProductPatch(dto.getName(), dto.getDescription(), dto.getPrice(), dto.getStockQuantity(), dto.getSku());
+    }
+    
     public List<ProductDTO> toDtoList(List<Product> domains) {
         return domains.stream()
                 .map(this::toDto)
@@ -0,0 +1,61 @@
+package com.api.product.application.pagination;
+
+import com.api.product.domain.ProductView;
+import com.api.product.domain.ProductSort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor pointing just after the last product of a page.
+ * It carries the sort key value and the id of that product, encoded as
+ * URL-safe Base64 so clients treat it as an opaque token.
+ */
+public record ProductCursor(ProductSort sort, String value, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static ProductCursor after(ProductSort sort, ProductView last) {
+        String value = switch (sort) {
+            case ID -> "";
+            case CREATED_AT -> last.createdAt().toString();
+            case PRICE -> last.price().toPlainString();
+        };
+        return new ProductCursor(sort, value, last.id());
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            ProductSort sort = ProductSort.valueOf(raw.substring(0, first));
+            ProductCursor cursor = new ProductCursor(sort, raw.substring(first + 1, last),
+                    Long.valueOf(raw.substring(last + 1)));
+            // Parse eagerly so a tampered value is rejected here rather than in the query
+            cursor.createdAt();
+            cursor.price();
+            return cursor;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime createdAt() {
+        return sort == ProductSort.CREATED_AT ? LocalDateTime.parse(value) : null;
+    }
+
+    public BigDecimal price() {
+        return sort == ProductSort.PRICE ? new BigDecimal(value) : null;
+    }
+}
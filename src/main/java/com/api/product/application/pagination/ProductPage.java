@@ -0,0 +1,10 @@
+package com.api.product.application.pagination;
+
+import java.util.List;
+
+/**
+ * A single page of a keyset-paginated listing. {@code nextCursor} is null
+ * when there are no further items.
+ */
+public record ProductPage<T>(List<T> items, String nextCursor) {
+}
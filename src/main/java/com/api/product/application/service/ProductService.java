@@ -1,14 +1,42 @@
 package com.api.product.application.service;
 
+import com.api.product.application.dto.ProductLookupDTO;
+import com.api.product.application.pagination.ProductCursor;
+import com.api.product.application.pagination.ProductPage;
 import com.api.product.domain.Product;
+import com.api.product.domain.ProductFilter;
+import com.api.product.domain.ProductPatch;
+import com.api.product.domain.ProductSort;
+import com.api.product.domain.ProductView;
+import com.api.product.domain.event.ProductChangedEvent;
+import com.api.product.infrastructure.cache.ProductCache;
+import com.api.product.infrastructure.index.ProductNameIndex;
+import com.api.product.infrastructure.index.ProductPriceIndex;
+import com.api.product.infrastructure.index.ProductStockIndex;
 import com.api.product.infrastructure.repository.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.smallrye.mutiny.Multi;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.ClientErrorException;
 import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Service for Product business logic
@@ -19,28 +47,331 @@ public class ProductService {
     @Inject
     ProductRepository productRepository;
     
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    @Inject
+    ProductCache productCache;
+    
+    @Inject
+    ProductNameIndex nameIndex;
+    
+    @Inject
+    ProductPriceIndex priceIndex;
+    
+    @Inject
+    ProductStockIndex stockIndex;
+    
+    @Inject
+    Event<ProductChangedEvent> productEvents;
+    
+    @ConfigProperty(name = "product.page.default-limit", defaultValue = "50")
+    int defaultPageLimit;
+    
+    @ConfigProperty(name = "product.page.max-limit", defaultValue = "500")
+    int maxPageLimit;
+    
+    @ConfigProperty(name = "product.export.fetch-size", defaultValue = "500")
+    int exportFetchSize;
+    
+    @ConfigProperty(name = "product.batch.max-size", defaultValue = "10000")
+    int maxBatchSize;
+    
+    @ConfigProperty(name = "product.batch.chunk-size", defaultValue = "500")
+    int batchChunkSize;
+    
+    @ConfigProperty(name = "product.delete.chunk-size", defaultValue = "1000")
+    int deleteChunkSize;
+    
+    @ConfigProperty(name = "product.lookup.max-keys", defaultValue = "1000")
+    int maxLookupKeys;
+    
+    @ConfigProperty(name = "product.lookup.chunk-size", defaultValue = "1000")
+    int lookupChunkSize;
+    
+    @ConfigProperty(name = "product.search.default-limit", defaultValue = "20")
+    int defaultSearchLimit;
+    
+    @ConfigProperty(name = "product.search.max-limit", defaultValue = "100")
+    int maxSearchLimit;
+    
+    /**
+     * Returns one keyset page of products. One extra row is fetched to find
+     * out whether a next page exists without a separate count query.
+     */
+    public ProductPage<ProductView> getProductPage(String sortParam, String after, Integer limit) {
+        ProductSort sort;
+        ProductCursor cursor = null;
+        try {
+            sort = ProductSort.fromParam(sortParam);
+            if (after != null && !after.isBlank()) {
+                cursor = ProductCursor.decode(after);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+        if (cursor != null && cursor.sort() != sort) {
+            throw new BadRequestException("Cursor was issued for sort " + cursor.sort().getParam());
+        }
+        int pageSize = resolveLimit(limit, defaultPageLimit, maxPageLimit);
+        
+        Long afterId = cursor != null ? cursor.id() : null;
+        List<ProductView> rows = switch (sort) {
+            case ID -> productRepository.findViewPageOrderById(afterId, pageSize + 1);
+            case CREATED_AT -> productRepository.findViewPageOrderByCreatedAt(
+                    cursor != null ? cursor.createdAt() : null, afterId, pageSize + 1);
+            case PRICE -> productRepository.findViewPageOrderByPrice(
+                    cursor != null ? cursor.price() : null, afterId, pageSize + 1);
+        };
+        
+        if (rows.size() <= pageSize) {
+            return new ProductPage<>(rows, null);
+        }
+        List<ProductView> items = rows.subList(0, pageSize);
+        return new ProductPage<>(items, ProductCursor.after(sort, items.get(pageSize - 1)).encode());
     }
     
-    public Product getProductById(Long id) {
+    /**
+     * Loads the products with the given ids, in request order, and lists the
+     * ids that do not exist.
+     */
+    public ProductLookupDTO<Long> getProductsByIds(List<Long> ids) {
+        return lookup(ids, chunk -> productRepository.findViewsById(chunk.stream().mapToLong(Long::longValue).toArray()),
+                ProductView::id);
+    }
+    
+    /**
+     * Loads the products with the given SKUs, in request order, and lists the
+     * SKUs that do not exist.
+     */
+    public ProductLookupDTO<String> getProductsBySkus(List<String> skus) {
+        return lookup(skus, productRepository::findViewsBySkus, ProductView::sku);
+    }
+    
+    /**
+     * One IN query per {@code product.lookup.chunk-size} distinct keys, which
+     * keeps every statement far below the PostgreSQL driver's limit of 32767
+     * bind parameters.
+     */
+    private <K> ProductLookupDTO<K> lookup(List<K> keys, Function<List<K>, List<ProductView>> loader,
+            Function<ProductView, K> keyOf) {
+        List<K> distinct = keys.stream().distinct().toList();
+        if (distinct.size() > maxLookupKeys) {
+            throw new BadRequestException("At most " + maxLookupKeys + " keys per request");
+        }
+        Map<K, ProductView> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += lookupChunkSize) {
+            for (ProductView view : loader.apply(distinct.subList(from, Math.min(from + lookupChunkSize, distinct.size())))) {
+                found.put(keyOf.apply(view), view);
+            }
+        }
+        List<ProductView> items = new ArrayList<>(found.size());
+        List<K> missing = new ArrayList<>();
+        for (K key : distinct) {
+            ProductView view = found.get(key);
+            if (view != null) {
+                items.add(view);
+            } else {
+                missing.add(key);
+            }
+        }
+        return new ProductLookupDTO<>(items, missing);
+    }
+    
+    /**
+     * Revision that changes with every product write, on any instance;
+     * validates cached list pages. Costs one aggregate query.
+     */
+    public String getCatalogRevision() {
+        return productRepository.catalogVersion().revision();
+    }
+    
+    /**
+     * Streams the whole catalog for bulk export without materializing it.
+     */
+    public Multi<ProductView> exportProducts() {
+        return productRepository.streamAll(exportFetchSize);
+    }
+    
+    /**
+     * Writes bypass the cache: they need the current row and a private copy to modify.
+     */
+    private Product findForWrite(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Product not found with id: " + id));
     }
     
-    public List<Product> searchProductsByName(String name) {
-        return productRepository.findByName(name);
+    private static int resolveLimit(Integer limit, int defaultLimit, int maxLimit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be greater than zero");
+        }
+        return Math.min(limit, maxLimit);
+    }
+    
+    /**
+     * Returns the product through the read-through cache. The instance may be
+     * shared with other callers and must not be modified.
+     */
+    public Product getProductById(Long id) {
+        return productCache.get(id, productRepository::findById)
+                .orElseThrow(() -> new NotFoundException("Product not found with id: " + id));
+    }
+    
+    /**
+     * Case-insensitive substring search on the product name, best matches
+     * first, optionally restricted to products in stock. Answered from the
+     * in-memory name index once it is built.
+     */
+    public List<ProductView> searchProductsByName(String name, boolean inStockOnly, Integer limit) {
+        int max = resolveLimit(limit, defaultSearchLimit, maxSearchLimit);
+        if (name == null || name.isEmpty()) {
+            return List.of();
+        }
+        if (!nameIndex.isReady() || (inStockOnly && !stockIndex.isReady())) {
+            return productRepository.findViewsByName(name).stream()
+                    .filter(product -> !inStockOnly || product.inStock())
+                    .limit(max)
+                    .toList();
+        }
+        long[] ids = inStockOnly
+                ? nameIndex.search(name, max, stockIndex.inStockFilter())
+                : nameIndex.search(name, max);
+        return loadMatching(ids, inStockOnly);
     }
     
     @Transactional
     public Product createProduct(Product product) {
+        product.setVersion(null);
         product.setCreatedAt(LocalDateTime.now());
-        return productRepository.save(product);
+        Product created = productRepository.save(product);
+        productEvents.fire(ProductChangedEvent.created(created));
+        return created;
+    }
+    
+    /**
+     * Inserts all products in one transaction. Ids are ignored; rows are
+     * written chunk by chunk in JDBC batches.
+     */
+    @Transactional
+    public List<Product> createProducts(List<Product> products) {
+        checkBatchSize(products);
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> created = new ArrayList<>(products.size());
+        for (List<Product> chunk : chunks(products)) {
+            for (Product product : chunk) {
+                product.setId(null);
+                product.setVersion(null);
+                product.setCreatedAt(now);
+                product.setUpdatedAt(null);
+            }
+            created.addAll(productRepository.saveAll(chunk));
+        }
+        created.forEach(product -> productEvents.fire(ProductChangedEvent.created(product)));
+        return created;
+    }
+    
+    /**
+     * Creates or updates products keyed by SKU in one transaction. Existing
+     * products of each chunk are looked up with a single query.
+     */
+    @Transactional
+    public List<Product> upsertProductsBySku(List<Product> products) {
+        checkBatchSize(products);
+        Set<String> skus = new HashSet<>();
+        for (Product product : products) {
+            if (product.getSku() == null || product.getSku().isBlank()) {
+                throw new BadRequestException("sku is required for every product");
+            }
+            if (!skus.add(product.getSku())) {
+                throw new BadRequestException("Duplicate sku: " + product.getSku());
+            }
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Product> saved = new ArrayList<>(products.size());
+        for (List<Product> chunk : chunks(products)) {
+            saved.addAll(writeChunk(chunk, now));
+        }
+        return saved;
+    }
+    
+    /**
+     * Writes one chunk of a feed import inside the caller's transaction.
+     * Products whose SKU already exists are updated, the rest are created; when
+     * a SKU repeats within the chunk the last row wins.
+     */
+    @Transactional
+    public List<Product> importProducts(List<Product> chunk) {
+        return writeChunk(chunk, LocalDateTime.now());
+    }
+    
+    /**
+     * Upserts a chunk by SKU: the existing products are looked up with one
+     * query and the writes go out together through {@link ProductRepository#saveAll}.
+     */
+    private List<Product> writeChunk(List<Product> chunk, LocalDateTime now) {
+        Map<String, Product> bySku = new HashMap<>();
+        List<String> skus = chunk.stream().map(Product::getSku).filter(Objects::nonNull).distinct().toList();
+        for (Product product : productRepository.findBySkus(skus)) {
+            bySku.put(product.getSku(), product);
+        }
+        Set<String> queued = new HashSet<>();
+        List<Product> writes = new ArrayList<>(chunk.size());
+        for (Product product : chunk) {
+            String sku = product.getSku();
+            Product current = sku != null ? bySku.get(sku) : null;
+            if (current == null) {
+                product.setId(null);
+                product.setVersion(null);
+                product.setCreatedAt(now);
+                product.setUpdatedAt(null);
+                writes.add(product);
+                if (sku != null) {
+                    bySku.put(sku, product);
+                    queued.add(sku);
+                }
+            } else {
+                current.setName(product.getName());
+                current.setDescription(product.getDescription());
+                current.setPrice(product.getPrice());
+                current.setStockQuantity(product.getStockQuantity());
+                if (current.getId() != null) {
+                    current.setUpdatedAt(now);
+                }
+                if (queued.add(sku)) {
+                    writes.add(current);
+                }
+            }
+        }
+        List<Product> saved = productRepository.saveAll(writes);
+        for (Product product : saved) {
+            productEvents.fire(product.getUpdatedAt() == null
+                    ? ProductChangedEvent.created(product)
+                    : ProductChangedEvent.updated(product));
+        }
+        return saved;
+    }
+    
+    private void checkBatchSize(List<Product> products) {
+        if (products == null || products.isEmpty()) {
+            throw new BadRequestException("At least one product is required");
+        }
+        if (products.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " products per batch");
+        }
+    }
+    
+    private List<List<Product>> chunks(List<Product> products) {
+        List<List<Product>> chunks = new ArrayList<>();
+        for (int from = 0; from < products.size(); from += batchChunkSize) {
+            chunks.add(products.subList(from, Math.min(from + batchChunkSize, products.size())));
+        }
+        return chunks;
     }
     
     @Transactional
     public Product updateProduct(Long id, Product updatedProduct) {
-        Product existingProduct = getProductById(id);
+        Product existingProduct = findForWrite(id);
         
         existingProduct.setName(updatedProduct.getName());
         existingProduct.setDescription(updatedProduct.getDescription());
@@ -49,20 +380,156 @@ public class ProductService {
         existingProduct.setSku(updatedProduct.getSku());
         existingProduct.setUpdatedAt(LocalDateTime.now());
         
-        return productRepository.save(existingProduct);
+        Product saved = productRepository.save(existingProduct);
+        productEvents.fire(ProductChangedEvent.updated(saved));
+        return saved;
+    }
+    
+    /**
+     * Applies a partial update in one statement, guarded by the version the
+     * client last read. Returns the product's new version and update time;
+     * other fields are only set if they were patched.
+     */
+    @Transactional
+    public Product patchProduct(Long id, Long expectedVersion, ProductPatch patch) {
+        if (patch.isEmpty()) {
+            throw new BadRequestException("At least one field to update is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!productRepository.patch(id, expectedVersion, patch, now)) {
+            // Only failed patches pay for the extra query that tells the two cases apart
+            if (productRepository.existsById(id)) {
+                throw new ClientErrorException("Product " + id + " was modified since version " + expectedVersion,
+                        Response.Status.CONFLICT);
+            }
+            throw new NotFoundException("Product not found with id: " + id);
+        }
+        long version = expectedVersion + 1;
+        Product changed = patch.toProduct(id);
+        changed.setUpdatedAt(now);
+        changed.setVersion(version);
+        productEvents.fire(ProductChangedEvent.updated(changed));
+        return changed;
     }
     
     @Transactional
     public void deleteProduct(Long id) {
-        getProductById(id); // Check if exists
-        productRepository.deleteById(id);
+        if (productRepository.deleteByIds(List.of(id)) == 0) {
+            throw new NotFoundException("Product not found with id: " + id);
+        }
+        productEvents.fire(ProductChangedEvent.deleted(id));
+    }
+    
+    /**
+     * Deletes the given products with one DELETE per chunk, each chunk in its
+     * own transaction. Unknown ids are ignored. Returns the number deleted.
+     */
+    public long deleteProducts(List<Long> ids) {
+        if (ids.size() > maxBatchSize) {
+            throw new BadRequestException("At most " + maxBatchSize + " ids per request");
+        }
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        long deleted = 0;
+        for (int from = 0; from < distinct.size(); from += deleteChunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + deleteChunkSize, distinct.size()));
+            deleted += QuarkusTransaction.requiringNew().call(() -> deleteChunk(chunk));
+        }
+        return deleted;
+    }
+    
+    /**
+     * Deletes every product matching {@code filter}, one chunk per transaction.
+     * Each chunk's ids are locked first, so the events fired for caches and
+     * indexes name exactly the rows that were deleted. Returns the number deleted.
+     */
+    public long deleteProductsMatching(ProductFilter filter) {
+        if (filter.isEmpty()) {
+            throw new BadRequestException("At least one filter criterion is required");
+        }
+        long deleted = 0;
+        int count;
+        do {
+            count = QuarkusTransaction.requiringNew()
+                    .call(() -> deleteChunk(productRepository.lockIdsMatching(filter, deleteChunkSize)));
+            deleted += count;
+        } while (count == deleteChunkSize);
+        return deleted;
+    }
+    
+    private int deleteChunk(List<Long> ids) {
+        int deleted = productRepository.deleteByIds(ids);
+        // Deleting an id that did not exist is a no-op for caches and indexes
+        ids.forEach(id -> productEvents.fire(ProductChangedEvent.deleted(id)));
+        return deleted;
+    }
+    
+    /**
+     * Products priced within {@code [minPrice, maxPrice]}, cheapest first, up
+     * to {@code limit}, optionally restricted to products in stock. Answered
+     * from the in-memory price index once it is built.
+     */
+    public List<ProductView> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly, Integer limit) {
+        if (maxPrice == null) {
+            throw new BadRequestException("max is required");
+        }
+        BigDecimal min = minPrice != null ? minPrice : BigDecimal.ZERO;
+        if (min.compareTo(maxPrice) > 0) {
+            throw new BadRequestException("min must not be greater than max");
+        }
+        int max = resolveLimit(limit, defaultPageLimit, maxPageLimit);
+        if (!priceIndex.isReady() || (inStockOnly && !stockIndex.isReady())) {
+            return inStockOnly
+                    ? productRepository.findInStockViewsByPriceRange(min, maxPrice, max)
+                    : productRepository.findViewsByPriceRange(min, maxPrice, max);
+        }
+        long[] ids = inStockOnly
+                ? priceIndex.range(min, maxPrice, max, stockIndex.inStockFilter())
+                : priceIndex.range(min, maxPrice, max);
+        return loadMatching(ids, inStockOnly);
     }
     
-    public List<Product> getProductsByPriceRange(double minPrice, double maxPrice) {
-        return productRepository.findByPriceRange(minPrice, maxPrice);
+    /**
+     * Pages through products with stock above zero in id order. The ids come
+     * from the in-stock bitmap and each page's rows are loaded in one query.
+     */
+    public ProductPage<ProductView> getProductsInStock(String after, Integer limit) {
+        ProductCursor cursor = null;
+        if (after != null && !after.isBlank()) {
+            try {
+                cursor = ProductCursor.decode(after);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage());
+            }
+            if (cursor.sort() != ProductSort.ID) {
+                throw new BadRequestException("Cursor was issued for sort " + cursor.sort().getParam());
+            }
+        }
+        int pageSize = resolveLimit(limit, defaultPageLimit, maxPageLimit);
+        Long afterId = cursor != null ? cursor.id() : null;
+        
+        List<ProductView> items;
+        boolean more;
+        if (stockIndex.isReady()) {
+            long[] ids = stockIndex.page(afterId, pageSize + 1);
+            more = ids.length > pageSize;
+            items = loadMatching(more ? Arrays.copyOf(ids, pageSize) : ids, true);
+            afterId = more ? ids[pageSize - 1] : null;
+        } else {
+            List<ProductView> rows = productRepository.findInStockViewPage(afterId, pageSize + 1);
+            more = rows.size() > pageSize;
+            items = more ? rows.subList(0, pageSize) : rows;
+            afterId = more ? items.get(pageSize - 1).id() : null;
+        }
+        String next = more ? new ProductCursor(ProductSort.ID, "", afterId).encode() : null;
+        return new ProductPage<>(items, next);
     }
     
-    public List<Product> getProductsInStock() {
-        return productRepository.findInStock();
+    /**
+     * Loads index hits in index order. Stock is checked again on the loaded
+     * rows because another instance may have changed it since the last rebuild.
+     */
+    private List<ProductView> loadMatching(long[] ids, boolean inStockOnly) {
+        List<ProductView> products = productRepository.findViewsById(ids);
+        return inStockOnly ? products.stream().filter(ProductView::inStock).toList() : products;
     }
 }
@@ -0,0 +1,289 @@
+package com.api.product.application.service;
+
+import com.api.product.domain.Product;
+import com.api.product.domain.event.ProductChangedEvent;
+import com.api.product.infrastructure.repository.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ClientErrorException;
+import jakarta.ws.rs.NotFoundException;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reserves and releases product stock without a row lock per reservation.
+ * <p>
+ * Units are leased from the products table with a conditional UPDATE that
+ * never leases more than is neither sold nor leased, and are then handed out
+ * from a {@link StripedStock} in memory. A lease covers the request plus about
+ * one flush interval of recent demand. Products that are not hot are reserved
+ * straight in the table, which makes a reservation a single UPDATE. Every
+ * {@code product.stock.flush-interval} the units handed out are subtracted
+ * from the stock, the units not needed for the next interval are returned,
+ * and idle counters are dropped.
+ * <p>
+ * Leased units stay in the stock until they are handed out, so readers see
+ * them as available. Each lease is a row in {@code stock_leases}, renewed by
+ * every flush. The leases of an instance that stopped without returning them
+ * are reconciled when it starts again, or by any instance once they are older
+ * than {@code product.stock.lease-timeout}: all their units are counted as
+ * reserved, so a crash undersells at most what was held and never oversells.
+ * An absolute stock write drops the leases on the product, and instances
+ * discard what they held at their next flush.
+ */
+@ApplicationScoped
+public class StockReservationService {
+
+    private static final Logger LOG = Logger.getLogger(StockReservationService.class);
+
+    @Inject
+    ProductRepository productRepository;
+    
+    @Inject
+    Event<ProductChangedEvent> productEvents;
+    
+    @ConfigProperty(name = "product.stock.max-lease", defaultValue = "1000")
+    int maxLease;
+    
+    @ConfigProperty(name = "product.stock.instance-id")
+    String instanceId;
+    
+    @ConfigProperty(name = "product.stock.lease-timeout", defaultValue = "1m")
+    Duration leaseTimeout;
+    
+    private final int stripeCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1) << 1);
+    
+    private final Map<Long, StripedStock> counters = new ConcurrentHashMap<>();
+    
+    /**
+     * Takes {@code quantity} units of the product's stock. Throws 409 if the
+     * stock is insufficient and 404 if the product does not exist.
+     */
+    public void reserve(Long id, int quantity) {
+        while (true) {
+            StripedStock stock = counters.computeIfAbsent(id, key -> new StripedStock(stripeCount));
+            if (stock.tryTake(quantity)) {
+                return;
+            }
+            stock.lock.lock();
+            try {
+                if (stock.closed) {
+                    continue;
+                }
+                reserveLocked(id, stock, quantity);
+                return;
+            } finally {
+                stock.lock.unlock();
+            }
+        }
+    }
+    
+    private void reserveLocked(Long id, StripedStock stock, int quantity) {
+        long held = stock.drain();
+        try {
+            if (held >= quantity) {
+                stock.deposit(held - quantity);
+                held = 0;
+                stock.consumed.add(quantity);
+                stock.reserved.add(quantity);
+                return;
+            }
+            long needed = quantity - held;
+            long prefetch = Math.min(maxLease, stock.reserved.sum());
+            long leased = 0;
+            if (prefetch > 0 && lease(id, needed + prefetch)) {
+                leased = needed + prefetch;
+            } else if (held > 0 && lease(id, needed)) {
+                leased = needed;
+            }
+            if (leased > 0) {
+                stock.deposit(held + leased - quantity);
+                held = 0;
+                stock.consumed.add(quantity);
+            } else if (held > 0 || !reserveInTable(id, quantity)) {
+                throw conflict(id, "Insufficient stock to reserve " + quantity + " of product " + id);
+            }
+            stock.reserved.add(quantity);
+        } finally {
+            stock.deposit(held);
+        }
+    }
+    
+    /**
+     * Gives {@code quantity} reserved units back to the table. Throws 409 if
+     * fewer units than that are reserved and 404 if the product does not exist.
+     * Units reserved on other instances count once those have flushed.
+     */
+    public void release(Long id, int quantity) {
+        StripedStock stock = counters.get(id);
+        if (stock != null) {
+            stock.lock.lock();
+            try {
+                // Units handed out from the lease only count as reserved once settled
+                if (!stock.closed) {
+                    settle(id, stock, Long.MAX_VALUE);
+                }
+            } finally {
+                stock.lock.unlock();
+            }
+        }
+        boolean released = QuarkusTransaction.requiringNew().call(() -> {
+            Optional<Product> changed = productRepository.releaseStock(id, quantity, LocalDateTime.now());
+            changed.ifPresent(product -> productEvents.fire(ProductChangedEvent.updated(product)));
+            return changed.isPresent();
+        });
+        if (!released) {
+            throw conflict(id, "Fewer than " + quantity + " units of product " + id + " are reserved");
+        }
+    }
+    
+    /**
+     * Write-behind: settles the units handed out, returns the ones not needed
+     * for the next interval and drops counters that saw no reservations.
+     */
+    @Scheduled(every = "{product.stock.flush-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flush() {
+        counters.forEach((id, stock) -> {
+            stock.lock.lock();
+            long demand = stock.reserved.sumThenReset();
+            try {
+                if (stock.closed) {
+                    return;
+                }
+                settle(id, stock, Math.min(demand, maxLease));
+                if (demand == 0) {
+                    close(id, stock);
+                }
+            } catch (RuntimeException e) {
+                // Keep the units and try again with the next flush
+                stock.reserved.add(demand);
+                LOG.errorf(e, "Could not settle the stock lease on product %d", id);
+            } finally {
+                stock.lock.unlock();
+            }
+        });
+    }
+    
+    /**
+     * Takes over the leases of instances that stopped renewing them.
+     */
+    @Scheduled(every = "{product.stock.lease-timeout}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void reconcileStaleLeases() {
+        try {
+            reconcile(now -> productRepository.reconcileStaleLeases(now.minus(leaseTimeout), now));
+        } catch (RuntimeException e) {
+            LOG.error("Could not reconcile stale stock leases", e);
+        }
+    }
+    
+    void onStart(@Observes StartupEvent event) {
+        // Whatever this instance still leases was left by a crash
+        reconcile(now -> productRepository.reconcileLeases(instanceId, now));
+    }
+    
+    void onStop(@Observes ShutdownEvent event) {
+        counters.forEach((id, stock) -> {
+            stock.lock.lock();
+            try {
+                if (!stock.closed) {
+                    settle(id, stock, 0);
+                    close(id, stock);
+                }
+            } catch (RuntimeException e) {
+                LOG.errorf(e, "Could not return the stock lease on product %d on shutdown", id);
+            } finally {
+                stock.lock.unlock();
+            }
+        });
+        counters.clear();
+    }
+    
+    /**
+     * Settles the counter's lease: the units handed out leave the stock and
+     * the held units beyond {@code keep} are returned. A counter whose lease
+     * no longer exists is closed; whoever dropped the lease accounted for its
+     * units. Call under the lock.
+     */
+    private void settle(Long id, StripedStock stock, long keep) {
+        long held = stock.drain();
+        long consumed = stock.consumed.sumThenReset();
+        long returned = Math.max(0, held - keep);
+        try {
+            if (held > 0 || consumed > 0) {
+                boolean leased = QuarkusTransaction.requiringNew().call(() -> {
+                    Optional<Product> settled = productRepository.settleLease(id, instanceId,
+                            Math.toIntExact(consumed), Math.toIntExact(returned), LocalDateTime.now());
+                    if (settled.isPresent() && consumed > 0) {
+                        productEvents.fire(ProductChangedEvent.updated(settled.get()));
+                    }
+                    return settled.isPresent();
+                });
+                if (!leased) {
+                    close(id, stock);
+                    return;
+                }
+            }
+            stock.deposit(held - returned);
+        } catch (RuntimeException e) {
+            stock.deposit(held);
+            stock.consumed.add(consumed);
+            throw e;
+        }
+    }
+    
+    private void close(Long id, StripedStock stock) {
+        stock.closed = true;
+        counters.remove(id, stock);
+    }
+    
+    /**
+     * Adds {@code units} to this instance's lease on the product in its own
+     * transaction. Returns false if the product has fewer units available.
+     */
+    private boolean lease(Long id, long units) {
+        return QuarkusTransaction.requiringNew().call(() ->
+                productRepository.leaseStock(id, instanceId, Math.toIntExact(units), LocalDateTime.now()));
+    }
+    
+    private boolean reserveInTable(Long id, int quantity) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            Optional<Product> changed = productRepository.reserveStock(id, quantity, LocalDateTime.now());
+            changed.ifPresent(product -> productEvents.fire(ProductChangedEvent.updated(product)));
+            return changed.isPresent();
+        });
+    }
+    
+    private void reconcile(Function<LocalDateTime, List<Product>> leases) {
+        List<Product> changed = QuarkusTransaction.requiringNew().call(() -> {
+            List<Product> products = leases.apply(LocalDateTime.now());
+            products.forEach(product -> productEvents.fire(ProductChangedEvent.updated(product)));
+            return products;
+        });
+        if (!changed.isEmpty()) {
+            LOG.infof("Reconciled abandoned stock leases on %d products", changed.size());
+        }
+    }
+    
+    private RuntimeException conflict(Long id, String message) {
+        boolean exists = QuarkusTransaction.requiringNew().call(() -> productRepository.existsById(id));
+        if (!exists) {
+            return new NotFoundException("Product not found with id: " + id);
+        }
+        return new ClientErrorException(message, Response.Status.CONFLICT);
+    }
+}
@@ -0,0 +1,84 @@
+package com.api.product.application.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Units of one product's stock held in memory, spread over stripes so that
+ * concurrent reservations rarely compete for the same counter. Each stripe
+ * sits on its own cache line.
+ * <p>
+ * Taking units never lets a stripe go below zero. Everything except the
+ * lock-free {@link #tryTake} happens under {@link #lock}, a ReentrantLock
+ * rather than a monitor so that virtual threads waiting on it are not pinned.
+ */
+final class StripedStock {
+
+    // Longs per 64-byte cache line
+    private static final int PADDING = 8;
+
+    private final int mask;
+    private final AtomicLongArray stripes;
+
+    final ReentrantLock lock = new ReentrantLock();
+
+    /** Units reserved since the last flush; sizes the next lease. */
+    final LongAdder reserved = new LongAdder();
+
+    /** Leased units handed out since they were last settled with the table. */
+    final LongAdder consumed = new LongAdder();
+
+    /** Set under the lock once the counter is removed; callers must look it up again. */
+    boolean closed;
+
+    StripedStock(int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripeCount must be a power of two");
+        }
+        mask = stripeCount - 1;
+        stripes = new AtomicLongArray(stripeCount * PADDING);
+    }
+
+    /**
+     * Takes {@code units} from the first stripe that holds enough, starting
+     * with the calling thread's own. Returns false when no single stripe does.
+     */
+    boolean tryTake(int units) {
+        int home = home();
+        for (int i = 0; i <= mask; i++) {
+            int slot = ((home + i) & mask) * PADDING;
+            long current;
+            while ((current = stripes.get(slot)) >= units) {
+                if (stripes.compareAndSet(slot, current, current - units)) {
+                    reserved.add(units);
+                    consumed.add(units);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    void deposit(long units) {
+        if (units > 0) {
+            stripes.addAndGet(home() * PADDING, units);
+        }
+    }
+
+    /**
+     * Empties every stripe and returns the total. Call under the lock.
+     */
+    long drain() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += stripes.getAndSet(i * PADDING, 0);
+        }
+        return total;
+    }
+
+    private int home() {
+        long hash = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+}
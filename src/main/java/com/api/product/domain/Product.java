@@ -16,10 +16,7 @@ public class Product {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String sku;
-    
-    public Product() {
-        this.createdAt = LocalDateTime.now();
-    }
+    private Long version;
     
     // Getters and setters
     public Long getId() {
@@ -85,4 +82,12 @@ public class Product {
     public void setSku(String sku) {
         this.sku = sku;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
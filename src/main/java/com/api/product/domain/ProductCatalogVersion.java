@@ -0,0 +1,23 @@
+package com.api.product.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Aggregate that changes whenever any product is created, updated or deleted:
+ * inserts and deletes move the count, and every write bumps a product's
+ * version. Read from the database, so every instance sees the same value.
+ *
+ * @param lastModified latest creation or update time, or null for an empty catalog
+ */
+public record ProductCatalogVersion(long count, long versionSum, LocalDateTime lastModified) {
+
+    /**
+     * Compact form of the aggregate, for entity tags.
+     */
+    public String revision() {
+        String modified = lastModified == null ? "0"
+                : Long.toString(lastModified.toEpochSecond(ZoneOffset.UTC), 36) + "." + Integer.toString(lastModified.getNano(), 36);
+        return Long.toString(count, 36) + "." + Long.toString(versionSum, 36) + "." + modified;
+    }
+}
@@ -0,0 +1,18 @@
+package com.api.product.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria selecting products for set-based operations. Criteria that are
+ * set must all match; null criteria are ignored.
+ *
+ * @param skuPrefix        SKU starts with this text
+ * @param outOfStock       true for stock of zero or less
+ * @param notUpdatedSince  last written (updated, or created if never updated) before this time
+ */
+public record ProductFilter(String skuPrefix, Boolean outOfStock, LocalDateTime notUpdatedSince) {
+
+    public boolean isEmpty() {
+        return (skuPrefix == null || skuPrefix.isEmpty()) && !Boolean.TRUE.equals(outOfStock) && notUpdatedSince == null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.api.product.domain;
+
+/**
+ * Lifecycle of a product feed import. A {@link #FAILED} import can be resumed
+ * from its last committed chunk; a {@link #COMPLETED} one cannot.
+ */
+public enum ProductImportStatus {
+    RUNNING,
+    FAILED,
+    COMPLETED
+}
@@ -0,0 +1,27 @@
+package com.api.product.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial update of a product. Null fields are left unchanged.
+ */
+public record ProductPatch(String name, String description, BigDecimal price, Integer stockQuantity, String sku) {
+
+    public boolean isEmpty() {
+        return name == null && description == null && price == null && stockQuantity == null && sku == null;
+    }
+
+    /**
+     * The patched fields as a product, with every other field null.
+     */
+    public Product toProduct(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setDescription(description);
+        product.setPrice(price);
+        product.setStockQuantity(stockQuantity);
+        product.setSku(sku);
+        return product;
+    }
+}
@@ -0,0 +1,36 @@
+package com.api.product.domain;
+
+import java.util.Locale;
+
+/**
+ * Keys the product listing can be ordered by. Every key is combined with the
+ * product id as a tie-breaker so that the ordering is total and can be used
+ * for keyset pagination.
+ */
+public enum ProductSort {
+    ID("id"),
+    CREATED_AT("createdAt"),
+    PRICE("price");
+
+    private final String param;
+
+    ProductSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static ProductSort fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return ID;
+        }
+        for (ProductSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(value) || sort.name().equals(value.toUpperCase(Locale.ROOT))) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + value);
+    }
+}
@@ -0,0 +1,25 @@
+package com.api.product.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only product row for list endpoints. Queries select straight into it,
+ * so listing a page allocates one object per row instead of a managed entity,
+ * a domain copy and a DTO copy.
+ */
+public record ProductView(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        Integer stockQuantity,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String sku,
+        Long version) {
+
+    public boolean inStock() {
+        return stockQuantity != null && stockQuantity > 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.api.product.domain.event;
+
+import com.api.product.domain.Product;
+
+/**
+ * CDI event fired by {@code ProductService} for every product write. Observers
+ * that keep derived in-memory state (search indexes, caches) should observe it
+ * with {@code during = TransactionPhase.AFTER_SUCCESS} so that rolled back
+ * writes are never applied.
+ *
+ * @param product the product as written, or null for deletions. Partial
+ *                updates carry only the changed fields; observers must treat
+ *                null fields as unchanged
+ */
+public record ProductChangedEvent(Type type, Long id, Product product) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    public static ProductChangedEvent created(Product product) {
+        return new ProductChangedEvent(Type.CREATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent updated(Product product) {
+        return new ProductChangedEvent(Type.UPDATED, product.getId(), product);
+    }
+
+    public static ProductChangedEvent deleted(Long id) {
+        return new ProductChangedEvent(Type.DELETED, id, null);
+    }
+}
@@ -0,0 +1,133 @@
+package com.api.product.infrastructure.cache;
+
+import com.api.product.domain.Product;
+import com.api.product.domain.event.ProductChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of products by id.
+ * <p>
+ * Found products live for {@code product.cache.ttl}. Ids that do not exist are
+ * remembered for the shorter {@code product.cache.negative-ttl}, so repeated
+ * 404s do not reach the database either. Entries are invalidated once a write
+ * to the product commits.
+ * <p>
+ * A load that started before a write committed must not put the old row back
+ * afterwards. Every invalidation therefore bumps a generation counter, and a
+ * loaded value is only stored if the generation is unchanged since the load
+ * began. Cached {@link Product} instances are shared and must not be mutated.
+ * <p>
+ * Loads deliberately run outside Caffeine's atomic compute: that holds a
+ * monitor for the whole load, which would pin a virtual thread to its carrier
+ * during the JDBC call.
+ */
+@ApplicationScoped
+public class ProductCache {
+
+    private static final Optional<Product> MISSING = Optional.empty();
+
+    @ConfigProperty(name = "product.cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "product.cache.max-size", defaultValue = "10000")
+    long maxSize;
+
+    @ConfigProperty(name = "product.cache.ttl", defaultValue = "5m")
+    Duration ttl;
+
+    @ConfigProperty(name = "product.cache.negative-ttl", defaultValue = "30s")
+    Duration negativeTtl;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder negativeHits = new LongAdder();
+
+    private Cache<Long, Optional<Product>> cache;
+
+    @PostConstruct
+    void init() {
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Optional<Product>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<Product> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<Product> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(id, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<Product> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached product, or loads it with {@code loader} and caches
+     * the result, including an empty one.
+     */
+    public Optional<Product> get(Long id, Function<Long, Optional<Product>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        Optional<Product> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            if (cached.isEmpty()) {
+                negativeHits.increment();
+            }
+            return cached;
+        }
+        long stamp = generation.get();
+        Optional<Product> loaded = loader.apply(id);
+        if (generation.get() == stamp) {
+            cache.put(id, loaded.isPresent() ? loaded : MISSING);
+        }
+        return loaded;
+    }
+
+    public void invalidate(Long id) {
+        generation.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    void onProductChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+        // Creations matter too: the new id may be cached as missing
+        invalidate(event.id());
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("negativeHits", negativeHits.sum());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
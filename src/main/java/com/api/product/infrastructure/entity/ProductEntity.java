@@ -5,10 +5,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -17,11 +22,18 @@ import java.time.LocalDateTime;
  * JPA entity for Product
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    // Support the keyset pagination orderings (see ProductJpaRepository)
+    @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_products_price_id", columnList = "price, id")
+})
 public class ProductEntity {
     
+    // Sequence ids let Hibernate batch inserts (IDENTITY forces one round trip per row).
+    // The allocation size matches the JDBC batch size so each batch costs one sequence call.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 100)
     private Long id;
     
     @NotBlank(message = "Name is required")
@@ -48,8 +60,27 @@ public class ProductEntity {
     @Column(name = "sku", unique = true)
     private String sku;
     
-    public ProductEntity() {
-        this.createdAt = LocalDateTime.now();
+    // Optimistic lock; the default lets schema update add the column to existing rows
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
+    // Units of stockQuantity leased by instances (see StockLeaseEntity) and units
+    // reserved and not released. Only the stock reservation queries write them.
+    @ColumnDefault("0")
+    @Column(name = "leased_quantity", nullable = false, insertable = false, updatable = false)
+    private Integer leasedQuantity;
+    
+    @ColumnDefault("0")
+    @Column(name = "reserved_quantity", nullable = false, insertable = false, updatable = false)
+    private Integer reservedQuantity;
+    
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
     }
     
     // Getters and setters
@@ -116,4 +147,20 @@ public class ProductEntity {
     public void setSku(String sku) {
         this.sku = sku;
     }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public Integer getLeasedQuantity() {
+        return leasedQuantity;
+    }
+    
+    public Integer getReservedQuantity() {
+        return reservedQuantity;
+    }
 }
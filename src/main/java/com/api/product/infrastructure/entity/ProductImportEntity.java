@@ -0,0 +1,111 @@
+package com.api.product.infrastructure.entity;
+
+import com.api.product.domain.ProductImportStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a product feed import. It is updated in the same transaction
+ * as each imported chunk, so {@code rowsRead} always matches what was committed.
+ */
+@Entity
+@Table(name = "product_imports")
+public class ProductImportEntity {
+    
+    @Id
+    @Column(length = 64)
+    private String id;
+    
+    @Column(nullable = false, length = 16)
+    private String format;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ProductImportStatus status;
+    
+    @Column(name = "rows_read", nullable = false)
+    private long rowsRead;
+    
+    @Column(nullable = false)
+    private long imported;
+    
+    @Column(nullable = false)
+    private long rejected;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Getters and setters
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getFormat() {
+        return format;
+    }
+    
+    public void setFormat(String format) {
+        this.format = format;
+    }
+    
+    public ProductImportStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(ProductImportStatus status) {
+        this.status = status;
+    }
+    
+    public long getRowsRead() {
+        return rowsRead;
+    }
+    
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+    
+    public long getImported() {
+        return imported;
+    }
+    
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+    
+    public long getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+    
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+    
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
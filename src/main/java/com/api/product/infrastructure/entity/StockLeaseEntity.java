@@ -0,0 +1,82 @@
+package com.api.product.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.LocalDateTime;
+
+/**
+ * Units of a product's stock leased by one instance and not yet settled. The
+ * sum of {@code units} over a product's leases always equals its
+ * {@code leasedQuantity}. A row whose {@code updatedAt} stops moving belongs to
+ * an instance that is gone and is reconciled by the others.
+ */
+@Entity
+@Table(name = "stock_leases",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"product_id", "instance_id"}),
+    indexes = @Index(name = "idx_stock_leases_updated_at", columnList = "updated_at"))
+public class StockLeaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "instance_id", nullable = false, length = 128)
+    private String instanceId;
+
+    @Column(nullable = false)
+    private int units;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    public void setInstanceId(String instanceId) {
+        this.instanceId = instanceId;
+    }
+
+    public int getUnits() {
+        return units;
+    }
+
+    public void setUnits(int units) {
+        this.units = units;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,142 @@
+package com.api.product.infrastructure.index;
+
+import com.api.product.domain.Product;
+import com.api.product.domain.event.ProductChangedEvent;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Base class for in-memory product indexes that are rebuilt from the table by
+ * {@link ProductIndexLoader} and that follow local writes through
+ * {@link ProductChangedEvent} in between.
+ * <p>
+ * The index structure {@code I} is not thread-safe itself; this class guards
+ * it with a read/write lock. While a rebuild is running, changes are applied
+ * to the live index and also recorded, then replayed onto the fresh index
+ * before it replaces the live one, so no committed write is lost.
+ *
+ * @param <I> the index data structure
+ */
+public abstract class AbstractProductIndex<I> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private I index = newIndex();
+
+    private I building;
+
+    private List<ProductChangedEvent> pending;
+
+    private volatile boolean ready;
+
+    protected abstract I newIndex();
+
+    /**
+     * Adds a product while building a fresh index.
+     */
+    protected abstract void add(I index, Product product);
+
+    /**
+     * Applies a committed write to an index.
+     */
+    protected abstract void apply(I index, ProductChangedEvent event);
+
+    /**
+     * Called once a fresh index is complete, before it is published to readers.
+     */
+    protected void seal(I index) {
+    }
+
+    /**
+     * False until the first build has completed; callers should query the
+     * database instead until then.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Runs {@code query} against the live index under the read lock.
+     */
+    protected <R> R read(Function<I, R> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void onProductChanged(@Observes(during = TransactionPhase.AFTER_SUCCESS) ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        building = newIndex();
+    }
+
+    void addToRebuild(Product product) {
+        add(building, product);
+    }
+
+    void completeRebuild() {
+        lock.writeLock().lock();
+        try {
+            seal(building);
+            for (ProductChangedEvent event : pending) {
+                apply(building, event);
+            }
+            index = building;
+            ready = true;
+        } finally {
+            pending = null;
+            building = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = null;
+            building = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected static long[] toIds(int[] docs) {
+        long[] ids = new long[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            ids[i] = docs[i];
+        }
+        return ids;
+    }
+
+    /**
+     * Index structures use int keys; product ids come from a database
+     * sequence and are expected to stay within int range.
+     */
+    protected static int docId(Long productId) {
+        return Math.toIntExact(productId);
+    }
+}
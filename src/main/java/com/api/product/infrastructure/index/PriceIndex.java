@@ -0,0 +1,270 @@
+package com.api.product.infrastructure.index;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Sorted index of prices to int ids.
+ * <p>
+ * Prices are stored as {@code long} minor units (two decimal places, matching
+ * the scale of the price column). The index uses two parallel primitive arrays
+ * sorted by (price, id). A range query is a binary search and a scan of the slice, and
+ * returns ids in price order. A dense {@code long[]} indexed by id holds each
+ * document's current price, so an id can be removed without the caller
+ * knowing its old price.
+ * <p>
+ * Updates shift the arrays and cost O(n). That is acceptable because writes
+ * are rare compared with reads, and the bulk build path sorts once instead.
+ * Not thread-safe; callers are expected to guard access.
+ */
+public class PriceIndex {
+
+    static final int SCALE = 2;
+
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private long[] prices = new long[16];
+    private int[] ids = new int[16];
+    private int size;
+
+    private long[] priceById = absent(16);
+
+    private boolean sorted = true;
+
+    public static long toMinorUnits(BigDecimal price) {
+        return price.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Adds a document without keeping the arrays sorted. Used for bulk
+     * loading; call {@link #seal()} before querying.
+     */
+    public void append(int id, BigDecimal price) {
+        long minor = toMinorUnits(price);
+        if (priceOf(id) != ABSENT) {
+            put(id, price);
+            return;
+        }
+        ensureCapacity(size + 1);
+        prices[size] = minor;
+        ids[size] = id;
+        size++;
+        setPrice(id, minor);
+        sorted = false;
+    }
+
+    public void put(int id, BigDecimal price) {
+        ensureSorted();
+        long minor = toMinorUnits(price);
+        long previous = priceOf(id);
+        if (previous == minor) {
+            return;
+        }
+        if (previous != ABSENT) {
+            removeAt(find(previous, id));
+        }
+        int pos = find(minor, id);
+        int insert = -pos - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(prices, insert, prices, insert + 1, size - insert);
+        System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+        prices[insert] = minor;
+        ids[insert] = id;
+        size++;
+        setPrice(id, minor);
+    }
+
+    public void remove(int id) {
+        long previous = priceOf(id);
+        if (previous == ABSENT) {
+            return;
+        }
+        ensureSorted();
+        removeAt(find(previous, id));
+        priceById[id] = ABSENT;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts anything added through {@link #append}. Queries never modify the
+     * index, so a sealed index can be read concurrently.
+     */
+    public void seal() {
+        ensureSorted();
+    }
+
+    /**
+     * Returns up to {@code limit} ids whose price lies in {@code [min, max]},
+     * cheapest first. A null bound is open.
+     */
+    public int[] range(BigDecimal min, BigDecimal max, int limit) {
+        return range(min, max, limit, id -> true);
+    }
+
+    /**
+     * Like {@link #range(BigDecimal, BigDecimal, int)}, restricted to ids
+     * accepted by {@code filter}. The filter is applied before the limit.
+     */
+    public int[] range(BigDecimal min, BigDecimal max, int limit, IntPredicate filter) {
+        if (!sorted) {
+            throw new IllegalStateException("Price index must be sealed before querying");
+        }
+        // Round the bounds inwards: 9.995 as a minimum means 10.00 in minor units
+        long lo = min == null ? Long.MIN_VALUE : bound(min, RoundingMode.CEILING);
+        long hi = max == null ? Long.MAX_VALUE : bound(max, RoundingMode.FLOOR);
+        if (lo > hi || limit <= 0) {
+            return new int[0];
+        }
+        int[] result = new int[Math.min(limit, 64)];
+        int count = 0;
+        for (int i = lowerBound(lo); i < size && prices[i] <= hi && count < limit; i++) {
+            if (filter.test(ids[i])) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, (int) Math.min(limit, count * 2L));
+                }
+                result[count++] = ids[i];
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private int lowerBound(long price) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (prices[mid] < price) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Binary search for (price, id); returns the index if present, otherwise
+     * {@code -(insertion point) - 1}.
+     */
+    private int find(long price, int id) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(prices[mid], ids[mid], price, id);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -lo - 1;
+    }
+
+    private void removeAt(int pos) {
+        System.arraycopy(prices, pos + 1, prices, pos, size - pos - 1);
+        System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+        size--;
+    }
+
+    private long priceOf(int id) {
+        return id < priceById.length ? priceById[id] : ABSENT;
+    }
+
+    private void setPrice(int id, long minor) {
+        if (id >= priceById.length) {
+            int length = Math.max(id + 1, priceById.length + (priceById.length >> 1));
+            long[] grown = absent(length);
+            System.arraycopy(priceById, 0, grown, 0, priceById.length);
+            priceById = grown;
+        }
+        priceById[id] = minor;
+    }
+
+    // Bounds beyond the range of minor units are clamped: no price lies outside it
+    private static long bound(BigDecimal value, RoundingMode rounding) {
+        BigInteger units = value.setScale(SCALE, rounding).unscaledValue();
+        return units.bitLength() < Long.SIZE ? units.longValue()
+                : units.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    private static long[] absent(int length) {
+        long[] array = new long[length];
+        Arrays.fill(array, ABSENT);
+        return array;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > prices.length) {
+            int length = Math.max(capacity, prices.length + (prices.length >> 1));
+            prices = Arrays.copyOf(prices, length);
+            ids = Arrays.copyOf(ids, length);
+        }
+    }
+
+    private void ensureSorted() {
+        if (!sorted) {
+            sort(0, size - 1);
+            sorted = true;
+        }
+    }
+
+    private static int compare(long priceA, int idA, long priceB, int idB) {
+        int cmp = Long.compare(priceA, priceB);
+        return cmp != 0 ? cmp : Integer.compare(idA, idB);
+    }
+
+    /**
+     * Quicksort of the parallel arrays by (price, id).
+     */
+    private void sort(int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            long pivotPrice = prices[mid];
+            int pivotId = ids[mid];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (compare(prices[i], ids[i], pivotPrice, pivotId) < 0) {
+                    i++;
+                }
+                while (compare(prices[j], ids[j], pivotPrice, pivotId) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            // Recurse into the smaller half to bound stack depth
+            if (j - lo < hi - i) {
+                sort(lo, j);
+                lo = i;
+            } else {
+                sort(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && compare(prices[j - 1], ids[j - 1], prices[j], ids[j]) > 0; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        long price = prices[a];
+        prices[a] = prices[b];
+        prices[b] = price;
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+}
@@ -0,0 +1,70 @@
+package com.api.product.infrastructure.index;
+
+import com.api.product.domain.Product;
+import com.api.product.infrastructure.repository.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * Builds every {@link AbstractProductIndex} from the products table in a
+ * single pass. Runs when the application starts and then every
+ * {@code product.index.rebuild-interval}, which also picks up writes made by
+ * other instances.
+ */
+@ApplicationScoped
+public class ProductIndexLoader {
+
+    private static final Logger LOG = Logger.getLogger(ProductIndexLoader.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Inject
+    @Any
+    Instance<AbstractProductIndex<?>> indexes;
+
+    @Scheduled(every = "{product.index.rebuild-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void rebuild() {
+        long start = System.nanoTime();
+        List<AbstractProductIndex<?>> targets = indexes.stream().toList();
+        targets.forEach(AbstractProductIndex::beginRebuild);
+
+        long count = 0;
+        try {
+            Long afterId = null;
+            List<Product> page;
+            do {
+                Long cursor = afterId;
+                // One short transaction per page keeps the persistence context small
+                page = QuarkusTransaction.requiringNew()
+                        .call(() -> productRepository.findPageOrderById(cursor, PAGE_SIZE));
+                for (Product product : page) {
+                    for (AbstractProductIndex<?> index : targets) {
+                        index.addToRebuild(product);
+                    }
+                }
+                count += page.size();
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == PAGE_SIZE);
+        } catch (RuntimeException e) {
+            targets.forEach(AbstractProductIndex::abortRebuild);
+            LOG.error("Product index rebuild failed", e);
+            return;
+        }
+
+        targets.forEach(AbstractProductIndex::completeRebuild);
+        LOG.debugf("Product indexes rebuilt with %d products in %d ms",
+                count, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,48 @@
+package com.api.product.infrastructure.index;
+
+import com.api.product.domain.Product;
+import com.api.product.domain.event.ProductChangedEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory trigram index over product names.
+ */
+@ApplicationScoped
+public class ProductNameIndex extends AbstractProductIndex<TrigramIndex> {
+
+    /**
+     * Returns the ids of up to {@code limit} products whose name contains
+     * {@code query}, ignoring case, best match first.
+     */
+    public long[] search(String query, int limit) {
+        return toIds(read(index -> index.search(query, limit)));
+    }
+
+    /**
+     * Like {@link #search(String, int)}, restricted to ids accepted by {@code filter}.
+     */
+    public long[] search(String query, int limit, IntPredicate filter) {
+        return toIds(read(index -> index.search(query, limit, filter)));
+    }
+
+    @Override
+    protected TrigramIndex newIndex() {
+        return new TrigramIndex();
+    }
+
+    @Override
+    protected void add(TrigramIndex index, Product product) {
+        index.put(docId(product.getId()), product.getName());
+    }
+
+    @Override
+    protected void apply(TrigramIndex index, ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            index.remove(docId(event.id()));
+        } else if (event.product().getName() != null) {
+            index.put(docId(event.id()), event.product().getName());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.api.product.infrastructure.index;
+
+import com.api.product.domain.Product;
+import com.api.product.domain.event.ProductChangedEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.math.BigDecimal;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory price index used to answer price-range queries in price order.
+ */
+@ApplicationScoped
+public class ProductPriceIndex extends AbstractProductIndex<PriceIndex> {
+
+    /**
+     * Returns the ids of up to {@code limit} products priced within
+     * {@code [min, max]}, cheapest first. A null bound is open.
+     */
+    public long[] range(BigDecimal min, BigDecimal max, int limit) {
+        return toIds(read(index -> index.range(min, max, limit)));
+    }
+
+    /**
+     * Like {@link #range(BigDecimal, BigDecimal, int)}, restricted to ids accepted by {@code filter}.
+     */
+    public long[] range(BigDecimal min, BigDecimal max, int limit, IntPredicate filter) {
+        return toIds(read(index -> index.range(min, max, limit, filter)));
+    }
+
+    @Override
+    protected PriceIndex newIndex() {
+        return new PriceIndex();
+    }
+
+    @Override
+    protected void add(PriceIndex index, Product product) {
+        index.append(docId(product.getId()), product.getPrice());
+    }
+
+    @Override
+    protected void seal(PriceIndex index) {
+        index.seal();
+    }
+
+    @Override
+    protected void apply(PriceIndex index, ProductChangedEvent event) {
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            index.remove(docId(event.id()));
+        } else if (event.product().getPrice() != null) {
+            index.put(docId(event.id()), event.product().getPrice());
+        }
+    }
+}
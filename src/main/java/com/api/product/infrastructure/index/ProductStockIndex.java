@@ -0,0 +1,89 @@
+package com.api.product.infrastructure.index;
+
+import com.api.product.domain.Product;
+import com.api.product.domain.event.ProductChangedEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Compressed bitmap of the ids of products with stock above zero. A product
+ * enters or leaves the set only when a write moves its stock across zero.
+ */
+@ApplicationScoped
+public class ProductStockIndex extends AbstractProductIndex<RoaringBitmap> {
+
+    /**
+     * Returns up to {@code limit} in-stock product ids greater than
+     * {@code afterId} (or from the start when null), in id order.
+     */
+    public long[] page(Long afterId, int limit) {
+        return read(bitmap -> {
+            if (afterId != null && afterId >= Integer.MAX_VALUE) {
+                return new long[0];
+            }
+            PeekableIntIterator it = bitmap.getIntIterator();
+            // Roaring orders ints as unsigned, so never seek to a negative value
+            if (afterId != null && afterId >= 0) {
+                it.advanceIfNeeded((int) (afterId + 1));
+            }
+            long[] ids = new long[(int) Math.min(limit, bitmap.getLongCardinality())];
+            int count = 0;
+            while (count < ids.length && it.hasNext()) {
+                ids[count++] = it.next();
+            }
+            return count == ids.length ? ids : Arrays.copyOf(ids, count);
+        });
+    }
+
+    /**
+     * Returns a point-in-time membership test. The snapshot is a copy, so it
+     * can be used while another index's lock is held.
+     */
+    public IntPredicate inStockFilter() {
+        RoaringBitmap snapshot = read(RoaringBitmap::clone);
+        return snapshot::contains;
+    }
+
+    public long count() {
+        return read(RoaringBitmap::getLongCardinality);
+    }
+
+    @Override
+    protected RoaringBitmap newIndex() {
+        return new RoaringBitmap();
+    }
+
+    @Override
+    protected void add(RoaringBitmap bitmap, Product product) {
+        if (inStock(product.getStockQuantity())) {
+            bitmap.add(docId(product.getId()));
+        }
+    }
+
+    @Override
+    protected void seal(RoaringBitmap bitmap) {
+        bitmap.runOptimize();
+    }
+
+    @Override
+    protected void apply(RoaringBitmap bitmap, ProductChangedEvent event) {
+        int id = docId(event.id());
+        if (event.type() == ProductChangedEvent.Type.DELETED) {
+            bitmap.remove(id);
+        } else if (event.product().getStockQuantity() != null) {
+            if (inStock(event.product().getStockQuantity())) {
+                bitmap.add(id);
+            } else {
+                bitmap.remove(id);
+            }
+        }
+    }
+
+    private static boolean inStock(Integer stockQuantity) {
+        return stockQuantity != null && stockQuantity > 0;
+    }
+}
@@ -0,0 +1,348 @@
+package com.api.product.infrastructure.index;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.IntPredicate;
+
+/**
+ * Case-insensitive substring index over short texts, keyed by int document id.
+ * <p>
+ * Every text is split into overlapping three-character grams. Each gram maps
+ * to a sorted primitive {@code int[]} posting list of the documents that
+ * contain it. A query intersects the posting lists of its own grams, starting
+ * from the shortest, and then verifies every candidate with a real substring
+ * check. Results therefore match {@code lower(text) LIKE %query%} exactly.
+ * Queries shorter than three characters fall back to a scan of the stored
+ * texts.
+ * <p>
+ * Nothing is boxed: grams are looked up in an open-addressing table of
+ * primitive longs, and the texts are stored in an array indexed by the dense
+ * document id.
+ * <p>
+ * Matches are ranked as exact, then prefix, then start of a word, then any
+ * other substring. Within a class, earlier match positions, shorter texts and
+ * lower ids come first.
+ * <p>
+ * Not thread-safe; callers are expected to guard access.
+ */
+public class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_WORD = 2;
+    private static final int RANK_SUBSTRING = 3;
+
+    private static final int MAX_15_BITS = (1 << 15) - 1;
+
+    private final GramTable postings = new GramTable();
+    private String[] texts = new String[16];
+    private int size;
+
+    /**
+     * Adds a document or replaces the text of an existing one.
+     */
+    public void put(int docId, String text) {
+        if (docId < 0) {
+            throw new IllegalArgumentException("Document id must not be negative: " + docId);
+        }
+        String normalized = normalize(text);
+        if (docId >= texts.length) {
+            texts = Arrays.copyOf(texts, Math.max(docId + 1, texts.length + (texts.length >> 1)));
+        }
+        String previous = texts[docId];
+        texts[docId] = normalized;
+        if (previous == null) {
+            size++;
+        } else {
+            if (previous.equals(normalized)) {
+                return;
+            }
+            forEachGram(previous, gram -> removePosting(gram, docId));
+        }
+        forEachGram(normalized, gram -> postings.getOrCreate(gram).add(docId));
+    }
+
+    public void remove(int docId) {
+        String previous = docId >= 0 && docId < texts.length ? texts[docId] : null;
+        if (previous != null) {
+            texts[docId] = null;
+            size--;
+            forEachGram(previous, gram -> removePosting(gram, docId));
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns up to {@code limit} ids of documents containing {@code query},
+     * best match first.
+     */
+    public int[] search(String query, int limit) {
+        return search(query, limit, docId -> true);
+    }
+
+    /**
+     * Like {@link #search(String, int)}, restricted to documents accepted by
+     * {@code filter}. The filter is applied before the limit.
+     */
+    public int[] search(String query, int limit, IntPredicate filter) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        long[] ranked;
+        int count = 0;
+        if (q.length() < GRAM) {
+            ranked = new long[size];
+            for (int docId = 0; docId < texts.length; docId++) {
+                if (texts[docId] == null || !filter.test(docId)) {
+                    continue;
+                }
+                long key = rankKey(docId, texts[docId], q);
+                if (key >= 0) {
+                    ranked[count++] = key;
+                }
+            }
+        } else {
+            int[] candidates = candidates(q);
+            ranked = new long[candidates.length];
+            for (int docId : candidates) {
+                if (!filter.test(docId)) {
+                    continue;
+                }
+                long key = rankKey(docId, texts[docId], q);
+                if (key >= 0) {
+                    ranked[count++] = key;
+                }
+            }
+        }
+
+        Arrays.sort(ranked, 0, count);
+        int[] result = new int[Math.min(limit, count)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) (ranked[i] & Integer.MAX_VALUE);
+        }
+        return result;
+    }
+
+    private int[] candidates(String q) {
+        int gramCount = q.length() - GRAM + 1;
+        Postings[] lists = new Postings[gramCount];
+        for (int i = 0; i < gramCount; i++) {
+            Postings list = postings.get(gram(q, i));
+            if (list == null) {
+                return new int[0];
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int l = 1; l < lists.length && size > 0; l++) {
+            Postings other = lists[l];
+            if (other == lists[l - 1]) {
+                continue;
+            }
+            int kept = 0;
+            int from = 0;
+            for (int i = 0; i < size; i++) {
+                int pos = Arrays.binarySearch(other.ids, from, other.size, result[i]);
+                if (pos >= 0) {
+                    result[kept++] = result[i];
+                    from = pos + 1;
+                } else {
+                    from = -pos - 1;
+                }
+            }
+            size = kept;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Packs the match class, position and text length above the 31-bit doc
+     * id so that sorting the keys orders the results. Returns -1 when the
+     * text does not contain the query.
+     */
+    private static long rankKey(int docId, String text, String q) {
+        int pos = text.indexOf(q);
+        if (pos < 0) {
+            return -1;
+        }
+        int rank;
+        if (pos == 0) {
+            rank = text.length() == q.length() ? RANK_EXACT : RANK_PREFIX;
+        } else if (!Character.isLetterOrDigit(text.charAt(pos - 1))) {
+            rank = RANK_WORD;
+        } else {
+            rank = RANK_SUBSTRING;
+        }
+        return ((long) rank << 61)
+                | ((long) Math.min(pos, MAX_15_BITS) << 46)
+                | ((long) Math.min(text.length(), MAX_15_BITS) << 31)
+                | docId;
+    }
+
+    private void removePosting(long gram, int docId) {
+        Postings list = postings.get(gram);
+        if (list != null && list.remove(docId) && list.size == 0) {
+            postings.remove(gram);
+        }
+    }
+
+    private static void forEachGram(String text, GramConsumer consumer) {
+        long previous = -1;
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            long gram = gram(text, i);
+            // Repeated grams ("aaaa") only need one posting
+            if (gram != previous) {
+                consumer.accept(gram);
+            }
+            previous = gram;
+        }
+    }
+
+    private static long gram(String text, int offset) {
+        return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface GramConsumer {
+        void accept(long gram);
+    }
+
+    /**
+     * Open-addressing map from gram to posting list with linear probing.
+     * Grams use only the low 48 bits, so -1 marks an empty slot.
+     */
+    private static final class GramTable {
+        private static final long EMPTY = -1L;
+
+        private long[] keys = empty(64);
+        private Postings[] values = new Postings[64];
+        private int size;
+
+        Postings get(long gram) {
+            int mask = keys.length - 1;
+            for (int slot = slot(gram, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == gram) {
+                    return values[slot];
+                }
+            }
+            return null;
+        }
+
+        Postings getOrCreate(long gram) {
+            int mask = keys.length - 1;
+            int slot = slot(gram, mask);
+            for (; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+                if (keys[slot] == gram) {
+                    return values[slot];
+                }
+            }
+            Postings list = new Postings();
+            keys[slot] = gram;
+            values[slot] = list;
+            // Keep the load factor at or below two thirds
+            if (++size * 3 > keys.length * 2) {
+                rehash(keys.length * 2);
+            }
+            return list;
+        }
+
+        void remove(long gram) {
+            int mask = keys.length - 1;
+            int slot = slot(gram, mask);
+            while (keys[slot] != gram) {
+                if (keys[slot] == EMPTY) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            // Shift later entries of the probe run back so lookups never stop early
+            int gap = slot;
+            for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = slot(keys[next], mask);
+                if (((next - home) & mask) >= ((next - gap) & mask)) {
+                    keys[gap] = keys[next];
+                    values[gap] = values[next];
+                    gap = next;
+                }
+            }
+            keys[gap] = EMPTY;
+            values[gap] = null;
+            size--;
+        }
+
+        private void rehash(int capacity) {
+            long[] oldKeys = keys;
+            Postings[] oldValues = values;
+            keys = empty(capacity);
+            values = new Postings[capacity];
+            int mask = capacity - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i], mask);
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long gram, int mask) {
+            long h = gram * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private static long[] empty(int capacity) {
+            long[] array = new long[capacity];
+            Arrays.fill(array, EMPTY);
+            return array;
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free growable int array.
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            int pos = size == 0 || ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            int insert = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insert, ids, insert + 1, size - insert);
+            ids[insert] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+    }
+}
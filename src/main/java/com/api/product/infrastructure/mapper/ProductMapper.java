@@ -1,5 +1,6 @@
 package com.api.product.infrastructure.mapper;
 
+import com.api.metrics.Counted;
 import com.api.product.domain.Product;
 import com.api.product.infrastructure.entity.ProductEntity;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -11,6 +12,7 @@ import java.util.stream.Collectors;
  * Mapper to convert between Product domain model and JPA entity
  */
 @ApplicationScoped
+@Counted
 public class ProductMapper {
     
     public Product toDomain(ProductEntity entity) {
@@ -27,6 +29,7 @@ public class ProductMapper {
         product.setCreatedAt(entity.getCreatedAt());
         product.setUpdatedAt(entity.getUpdatedAt());
         product.setSku(entity.getSku());
+        product.setVersion(entity.getVersion());
         
         return product;
     }
@@ -45,6 +48,7 @@ public class ProductMapper {
         entity.setCreatedAt(domain.getCreatedAt());
         entity.setUpdatedAt(domain.getUpdatedAt());
         entity.setSku(domain.getSku());
+        entity.setVersion(domain.getVersion());
         
         return entity;
     }
@@ -0,0 +1,27 @@
+package com.api.product.infrastructure.repository;
+
+import com.api.product.domain.ProductImportStatus;
+import com.api.product.infrastructure.entity.ProductImportEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Repository for product import checkpoints
+ */
+public interface ProductImportJpaRepository extends JpaRepository<ProductImportEntity, String> {
+    
+    /**
+     * Marks a failed import as running again, or a running one whose last
+     * checkpoint is older than {@code staleBefore} (its instance stopped).
+     * Returns 0 when another run holds the import.
+     */
+    @Modifying
+    @Query("UPDATE ProductImportEntity i SET i.status = :running, i.updatedAt = :now WHERE i.id = :id "
+            + "AND (i.status = :failed OR (i.status = :running AND i.updatedAt < :staleBefore))")
+    int claim(@Param("id") String id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore,
+              @Param("running") ProductImportStatus running, @Param("failed") ProductImportStatus failed);
+}
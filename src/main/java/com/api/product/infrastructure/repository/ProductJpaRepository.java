@@ -1,10 +1,12 @@
 package com.api.product.infrastructure.repository;
 
 import com.api.product.infrastructure.entity.ProductEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,13 +15,17 @@ import java.util.Optional;
  */
 public interface ProductJpaRepository extends JpaRepository<ProductEntity, Long> {
     
-    List<ProductEntity> findByNameContainingIgnoreCase(String name);
-    
     Optional<ProductEntity> findBySku(String sku);
     
-    @Query("SELECT p FROM ProductEntity p WHERE p.price >= :minPrice AND p.price <= :maxPrice")
-    List<ProductEntity> findByPriceRange(@Param("minPrice") double minPrice, @Param("maxPrice") double maxPrice);
+    @Query("SELECT p FROM ProductEntity p WHERE p.sku IN :skus")
+    List<ProductEntity> findBySkuIn(@Param("skus") Collection<String> skus);
+    
+    // Keyset pagination: each query seeks past the last row of the previous page
+    // instead of counting an OFFSET, so every page costs the same.
+    
+    @Query("SELECT p FROM ProductEntity p ORDER BY p.id")
+    List<ProductEntity> findFirstPageOrderById(Pageable pageable);
     
-    @Query("SELECT p FROM ProductEntity p WHERE p.stockQuantity > 0")
-    List<ProductEntity> findInStock();
+    @Query("SELECT p FROM ProductEntity p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductEntity> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,24 +1,164 @@
 package com.api.product.infrastructure.repository;
 
 import com.api.product.domain.Product;
+import com.api.product.domain.ProductCatalogVersion;
+import com.api.product.domain.ProductFilter;
+import com.api.product.domain.ProductPatch;
+import com.api.product.domain.ProductView;
+import io.smallrye.mutiny.Multi;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ProductRepository {
-    List<Product> findAll();
+    /**
+     * Keyset page of products ordered by id. A null {@code afterId} returns the first page.
+     */
+    List<Product> findPageOrderById(Long afterId, int limit);
 
-    Optional<Product> findById(Long id);
+    // Read model for list endpoints: rows are selected straight into ProductView
+
+    /**
+     * Keyset page ordered by id. A null {@code afterId} returns the first page.
+     */
+    List<ProductView> findViewPageOrderById(Long afterId, int limit);
+
+    /**
+     * Keyset page ordered by (createdAt, id). Null cursor values return the first page.
+     */
+    List<ProductView> findViewPageOrderByCreatedAt(LocalDateTime afterCreatedAt, Long afterId, int limit);
+
+    /**
+     * Keyset page ordered by (price, id). Null cursor values return the first page.
+     */
+    List<ProductView> findViewPageOrderByPrice(BigDecimal afterPrice, Long afterId, int limit);
+
+    /**
+     * Streams every product ordered by id from a database cursor, so memory use
+     * does not depend on table size. Elements are produced on worker threads.
+     */
+    Multi<ProductView> streamAll(int fetchSize);
+
+    /**
+     * Loads the given products in one query, in the order of {@code ids}.
+     * Ids that do not exist are skipped.
+     */
+    List<ProductView> findViewsById(long[] ids);
+
+    /**
+     * Loads the products with the given SKUs in one query, in no particular
+     * order. SKUs that do not exist are skipped.
+     */
+    List<ProductView> findViewsBySkus(Collection<String> skus);
+
+    List<ProductView> findViewsByName(String name);
 
-    List<Product> findByName(String name);
+    /**
+     * Products priced within {@code [minPrice, maxPrice]}, cheapest first.
+     */
+    List<ProductView> findViewsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit);
+
+    List<ProductView> findInStockViewsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit);
+
+    /**
+     * Keyset page of products with stock above zero, ordered by id.
+     */
+    List<ProductView> findInStockViewPage(Long afterId, int limit);
+
+    Optional<Product> findById(Long id);
 
     Optional<Product> findBySku(String sku);
 
-    List<Product> findByPriceRange(double minPrice, double maxPrice);
+    /**
+     * Loads the products with the given SKUs in one query. SKUs that do not exist are skipped.
+     */
+    List<Product> findBySkus(Collection<String> skus);
 
-    List<Product> findInStock();
+    boolean existsById(Long id);
+    
+    /**
+     * Takes {@code quantity} units straight from the stock and counts them as
+     * reserved, with a single UPDATE that bumps the version, unless fewer units
+     * than that are neither sold nor leased. Returns the product with only its
+     * id, stock, version and update time set, or empty if nothing was written.
+     */
+    Optional<Product> reserveStock(Long id, int quantity, LocalDateTime updatedAt);
+    
+    /**
+     * Gives {@code quantity} reserved units back to the stock, unless fewer
+     * than that are reserved. Returns the product like
+     * {@link #reserveStock}, or empty if nothing was written.
+     */
+    Optional<Product> releaseStock(Long id, int quantity, LocalDateTime updatedAt);
+    
+    /**
+     * Leases {@code units} to {@code instanceId}: adds them to the product's
+     * leased units and to the instance's lease row, unless fewer units than
+     * that are neither sold nor leased. The stock itself does not change.
+     * Returns false if nothing was written.
+     */
+    boolean leaseStock(Long id, String instanceId, int units, LocalDateTime now);
+    
+    /**
+     * Settles the lease {@code instanceId} holds on the product: {@code consumed}
+     * units were reserved and leave the stock, {@code returned} units go back
+     * to it, and the lease is renewed. Both are capped by the units still
+     * leased, and a lease with no units left is deleted. Returns the product
+     * like {@link #reserveStock}, or empty if the lease no longer exists
+     * because it was reconciled or an absolute stock write dropped it.
+     */
+    Optional<Product> settleLease(Long id, String instanceId, int consumed, int returned, LocalDateTime now);
+    
+    /**
+     * Deletes the leases held by {@code instanceId}, counting all their units
+     * as reserved. Returns the products whose stock changed.
+     */
+    List<Product> reconcileLeases(String instanceId, LocalDateTime now);
+    
+    /**
+     * Like {@link #reconcileLeases(String, LocalDateTime)} for the leases of
+     * any instance that were not renewed since {@code staleBefore}.
+     */
+    List<Product> reconcileStaleLeases(LocalDateTime staleBefore, LocalDateTime now);
+    
+    /**
+     * Count, version sum and latest modification time of the whole catalog, in one query.
+     */
+    ProductCatalogVersion catalogVersion();
 
+    /**
+     * Inserts or updates the product. Updating sets the stock to an absolute
+     * value, so the leases on it are dropped.
+     */
     Product save(Product product);
 
-    void deleteById(Long id);
+    /**
+     * Applies the non-null fields of {@code patch} with a single UPDATE that
+     * also bumps the version, and drops the leases on the product if it sets
+     * the stock. Returns false when no row has this id and
+     * {@code expectedVersion}.
+     */
+    boolean patch(Long id, long expectedVersion, ProductPatch patch, LocalDateTime updatedAt);
+
+    /**
+     * Inserts products without an id and updates the others, dropping their
+     * leases, then flushes and clears the persistence context. Statements go out in JDBC batches of
+     * {@code quarkus.hibernate-orm.jdbc.statement-batch-size}; callers bound
+     * memory by passing chunks rather than the whole input.
+     */
+    List<Product> saveAll(List<Product> products);
+
+    /**
+     * Deletes the given products and their leases, and returns how many existed.
+     */
+    int deleteByIds(Collection<Long> ids);
+
+    /**
+     * Returns up to {@code limit} ids of products matching {@code filter},
+     * locked for update until the surrounding transaction ends.
+     */
+    List<Long> lockIdsMatching(ProductFilter filter, int limit);
 }
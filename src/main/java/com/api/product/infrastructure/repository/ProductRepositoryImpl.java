@@ -1,40 +1,142 @@
 package com.api.product.infrastructure.repository;
 
+import com.api.metrics.RecordedQueries;
+import com.api.metrics.Timed;
 import com.api.product.domain.Product;
+import com.api.product.domain.ProductCatalogVersion;
+import com.api.product.domain.ProductFilter;
+import com.api.product.domain.ProductPatch;
+import com.api.product.domain.ProductView;
 import com.api.product.infrastructure.entity.ProductEntity;
+import com.api.product.infrastructure.entity.StockLeaseEntity;
 import com.api.product.infrastructure.mapper.ProductMapper;
+import io.agroal.api.AgroalDataSource;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.SessionFactory;
+import org.springframework.data.domain.PageRequest;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Implementation of ProductRepository using JPA
  */
 @ApplicationScoped
+@Timed
+@RecordedQueries
 public class ProductRepositoryImpl implements ProductRepository {
     
     @Inject
     ProductJpaRepository jpaRepository;
     
+    @Inject
+    ProductViewQueries viewQueries;
+    
     @Inject
     ProductMapper mapper;
     
+    @Inject
+    AgroalDataSource dataSource;
+    
+    @Inject
+    SessionFactory sessionFactory;
+    
+    @Inject
+    EntityManager entityManager;
+    
     @Override
-    public List<Product> findAll() {
-        return mapper.toDomainList(jpaRepository.findAll());
+    public List<Product> findPageOrderById(Long afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return mapper.toDomainList(afterId == null
+                ? jpaRepository.findFirstPageOrderById(page)
+                : jpaRepository.findPageOrderById(afterId, page));
     }
     
     @Override
-    public Optional<Product> findById(Long id) {
-        return jpaRepository.findById(id)
-                .map(mapper::toDomain);
+    public List<ProductView> findViewPageOrderById(Long afterId, int limit) {
+        return viewQueries.findPageOrderById(afterId, limit);
     }
     
     @Override
-    public List<Product> findByName(String name) {
-        return mapper.toDomainList(jpaRepository.findByNameContainingIgnoreCase(name));
+    public List<ProductView> findViewPageOrderByCreatedAt(LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        return viewQueries.findPageOrderByCreatedAt(afterCreatedAt, afterId, limit);
+    }
+    
+    @Override
+    public List<ProductView> findViewPageOrderByPrice(BigDecimal afterPrice, Long afterId, int limit) {
+        return viewQueries.findPageOrderByPrice(afterPrice, afterId, limit);
+    }
+    
+    @Override
+    public Multi<ProductView> streamAll(int fetchSize) {
+        return Multi.createFrom().resource(
+                        () -> ProductScroll.open(dataSource, sessionFactory, fetchSize),
+                        scroll -> Multi.createFrom().iterable(scroll))
+                .withFinalizer(ProductScroll::close)
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool());
+    }
+    
+    @Override
+    public List<ProductView> findViewsById(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> keys = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            keys.add(id);
+        }
+        Map<Long, ProductView> byId = new HashMap<>();
+        for (ProductView view : viewQueries.findByIdIn(keys)) {
+            byId.put(view.id(), view);
+        }
+        List<ProductView> views = new ArrayList<>(byId.size());
+        for (long id : ids) {
+            ProductView view = byId.get(id);
+            if (view != null) {
+                views.add(view);
+            }
+        }
+        return views;
+    }
+    
+    @Override
+    public List<ProductView> findViewsByName(String name) {
+        return viewQueries.findByNameContaining(name);
+    }
+    
+    @Override
+    public List<ProductView> findViewsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        return viewQueries.findByPriceRange(minPrice, maxPrice, false, limit);
+    }
+    
+    @Override
+    public List<ProductView> findInStockViewsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, int limit) {
+        return viewQueries.findByPriceRange(minPrice, maxPrice, true, limit);
+    }
+    
+    @Override
+    public List<ProductView> findInStockViewPage(Long afterId, int limit) {
+        return viewQueries.findInStockPage(afterId, limit);
+    }
+    
+    @Override
+    public Optional<Product> findById(Long id) {
+        return jpaRepository.findById(id)
+                .map(mapper::toDomain);
     }
     
     @Override
@@ -44,24 +146,286 @@ public class ProductRepositoryImpl implements ProductRepository {
     }
     
     @Override
-    public List<Product> findByPriceRange(double minPrice, double maxPrice) {
-        return mapper.toDomainList(jpaRepository.findByPriceRange(minPrice, maxPrice));
+    public List<ProductView> findViewsBySkus(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        return viewQueries.findBySkuIn(skus);
+    }
+    
+    @Override
+    public List<Product> findBySkus(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        return mapper.toDomainList(jpaRepository.findBySkuIn(skus));
     }
     
     @Override
-    public List<Product> findInStock() {
-        return mapper.toDomainList(jpaRepository.findInStock());
+    public boolean existsById(Long id) {
+        return jpaRepository.existsById(id);
+    }
+    
+    @Override
+    public Optional<Product> reserveStock(Long id, int quantity, LocalDateTime updatedAt) {
+        int updated = entityManager.createQuery("UPDATE ProductEntity p SET p.stockQuantity = p.stockQuantity - :quantity, "
+                        + "p.reservedQuantity = p.reservedQuantity + :quantity, p.version = p.version + 1, p.updatedAt = :updatedAt "
+                        + "WHERE p.id = :id AND p.stockQuantity - p.leasedQuantity >= :quantity")
+                .setParameter("quantity", quantity)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", id)
+                .executeUpdate();
+        return updated == 0 ? Optional.empty() : Optional.of(stockOf(id, updatedAt));
+    }
+    
+    @Override
+    public Optional<Product> releaseStock(Long id, int quantity, LocalDateTime updatedAt) {
+        int updated = entityManager.createQuery("UPDATE ProductEntity p SET p.stockQuantity = p.stockQuantity + :quantity, "
+                        + "p.reservedQuantity = p.reservedQuantity - :quantity, p.version = p.version + 1, p.updatedAt = :updatedAt "
+                        + "WHERE p.id = :id AND p.reservedQuantity >= :quantity")
+                .setParameter("quantity", quantity)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", id)
+                .executeUpdate();
+        return updated == 0 ? Optional.empty() : Optional.of(stockOf(id, updatedAt));
+    }
+    
+    @Override
+    public boolean leaseStock(Long id, String instanceId, int units, LocalDateTime now) {
+        // Leasing leaves the stock and the version alone: leased units are still on sale
+        int updated = entityManager.createQuery("UPDATE ProductEntity p SET p.leasedQuantity = p.leasedQuantity + :units "
+                        + "WHERE p.id = :id AND p.stockQuantity - p.leasedQuantity >= :units")
+                .setParameter("units", units)
+                .setParameter("id", id)
+                .executeUpdate();
+        if (updated == 0) {
+            return false;
+        }
+        StockLeaseEntity lease = findLease(id, instanceId);
+        if (lease == null) {
+            lease = new StockLeaseEntity();
+            lease.setProductId(id);
+            lease.setInstanceId(instanceId);
+            lease.setUnits(units);
+            lease.setUpdatedAt(now);
+            entityManager.persist(lease);
+        } else {
+            lease.setUnits(lease.getUnits() + units);
+            lease.setUpdatedAt(now);
+        }
+        return true;
+    }
+    
+    @Override
+    public Optional<Product> settleLease(Long id, String instanceId, int consumed, int returned, LocalDateTime now) {
+        StockLeaseEntity lease = findLease(id, instanceId);
+        if (lease == null) {
+            return Optional.empty();
+        }
+        // Caps only bite when the lease was dropped and taken again since the caller last settled
+        int sold = Math.min(consumed, lease.getUnits());
+        int back = Math.min(returned, lease.getUnits() - sold);
+        if (sold > 0) {
+            entityManager.createQuery("UPDATE ProductEntity p SET p.stockQuantity = p.stockQuantity - :sold, "
+                            + "p.leasedQuantity = p.leasedQuantity - :released, p.reservedQuantity = p.reservedQuantity + :sold, "
+                            + "p.version = p.version + 1, p.updatedAt = :now WHERE p.id = :id")
+                    .setParameter("sold", sold)
+                    .setParameter("released", sold + back)
+                    .setParameter("now", now)
+                    .setParameter("id", id)
+                    .executeUpdate();
+        } else if (back > 0) {
+            // Returned units were on sale all along, so the product as readers see it is unchanged
+            entityManager.createQuery("UPDATE ProductEntity p SET p.leasedQuantity = p.leasedQuantity - :back WHERE p.id = :id")
+                    .setParameter("back", back)
+                    .setParameter("id", id)
+                    .executeUpdate();
+        }
+        if (lease.getUnits() == sold + back) {
+            entityManager.remove(lease);
+        } else {
+            lease.setUnits(lease.getUnits() - sold - back);
+            lease.setUpdatedAt(now);
+        }
+        return Optional.of(stockOf(id, now));
+    }
+    
+    @Override
+    public List<Product> reconcileLeases(String instanceId, LocalDateTime now) {
+        return reconcile(entityManager.createQuery(
+                "SELECT l FROM StockLeaseEntity l WHERE l.instanceId = :instanceId ORDER BY l.productId", StockLeaseEntity.class)
+                .setParameter("instanceId", instanceId), now);
+    }
+    
+    @Override
+    public List<Product> reconcileStaleLeases(LocalDateTime staleBefore, LocalDateTime now) {
+        return reconcile(entityManager.createQuery(
+                "SELECT l FROM StockLeaseEntity l WHERE l.updatedAt < :staleBefore ORDER BY l.productId", StockLeaseEntity.class)
+                .setParameter("staleBefore", staleBefore), now);
+    }
+    
+    private List<Product> reconcile(TypedQuery<StockLeaseEntity> leases, LocalDateTime now) {
+        List<Product> changed = new ArrayList<>();
+        for (StockLeaseEntity lease : leases.setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList()) {
+            // Units the instance held are counted as reserved: it may have handed them out before it stopped
+            int updated = entityManager.createQuery("UPDATE ProductEntity p SET p.stockQuantity = p.stockQuantity - :units, "
+                            + "p.leasedQuantity = p.leasedQuantity - :units, p.version = p.version + 1, p.updatedAt = :now "
+                            + "WHERE p.id = :id")
+                    .setParameter("units", lease.getUnits())
+                    .setParameter("now", now)
+                    .setParameter("id", lease.getProductId())
+                    .executeUpdate();
+            if (updated == 1) {
+                changed.add(stockOf(lease.getProductId(), now));
+            }
+            entityManager.remove(lease);
+        }
+        return changed;
+    }
+    
+    private StockLeaseEntity findLease(Long id, String instanceId) {
+        return entityManager.createQuery(
+                "SELECT l FROM StockLeaseEntity l WHERE l.productId = :id AND l.instanceId = :instanceId", StockLeaseEntity.class)
+                .setParameter("id", id)
+                .setParameter("instanceId", instanceId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+    
+    /**
+     * Absolute stock writes replace whatever was leased, so the leases go with them.
+     */
+    private void dropLeases(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        entityManager.createQuery("DELETE FROM StockLeaseEntity l WHERE l.productId IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        entityManager.createQuery("UPDATE ProductEntity p SET p.leasedQuantity = 0 WHERE p.id IN :ids AND p.leasedQuantity <> 0")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+    
+    private Product stockOf(Long id, LocalDateTime updatedAt) {
+        Object[] row = entityManager.createQuery(
+                "SELECT p.stockQuantity, p.version FROM ProductEntity p WHERE p.id = :id", Object[].class)
+                .setParameter("id", id)
+                .getSingleResult();
+        Product product = new Product();
+        product.setId(id);
+        product.setStockQuantity((Integer) row[0]);
+        product.setVersion((Long) row[1]);
+        product.setUpdatedAt(updatedAt);
+        return product;
+    }
+    
+    @Override
+    public ProductCatalogVersion catalogVersion() {
+        Object[] row = entityManager.createQuery(
+                "SELECT COUNT(p), COALESCE(SUM(p.version), 0), MAX(COALESCE(p.updatedAt, p.createdAt)) FROM ProductEntity p",
+                Object[].class)
+                .getSingleResult();
+        return new ProductCatalogVersion(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), (LocalDateTime) row[2]);
     }
     
     @Override
     public Product save(Product product) {
+        if (product.getId() != null) {
+            dropLeases(List.of(product.getId()));
+        }
         ProductEntity entity = mapper.toEntity(product);
         entity = jpaRepository.save(entity);
         return mapper.toDomain(entity);
     }
     
     @Override
-    public void deleteById(Long id) {
-        jpaRepository.deleteById(id);
+    public boolean patch(Long id, long expectedVersion, ProductPatch patch, LocalDateTime updatedAt) {
+        // Only the patched columns are written, and the version check makes a lost update impossible
+        StringBuilder jpql = new StringBuilder("UPDATE ProductEntity p SET p.version = p.version + 1, p.updatedAt = :updatedAt");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("updatedAt", updatedAt);
+        set(jpql, parameters, "name", patch.name());
+        set(jpql, parameters, "description", patch.description());
+        set(jpql, parameters, "price", patch.price());
+        set(jpql, parameters, "stockQuantity", patch.stockQuantity());
+        set(jpql, parameters, "sku", patch.sku());
+        jpql.append(" WHERE p.id = :id AND p.version = :version");
+        parameters.put("id", id);
+        parameters.put("version", expectedVersion);
+        
+        Query update = entityManager.createQuery(jpql.toString());
+        parameters.forEach(update::setParameter);
+        if (update.executeUpdate() == 0) {
+            return false;
+        }
+        if (patch.stockQuantity() != null) {
+            dropLeases(List.of(id));
+        }
+        return true;
+    }
+    
+    private static void set(StringBuilder jpql, Map<String, Object> parameters, String field, Object value) {
+        if (value != null) {
+            jpql.append(", p.").append(field).append(" = :").append(field);
+            parameters.put(field, value);
+        }
+    }
+    
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        dropLeases(products.stream().map(Product::getId).filter(Objects::nonNull).toList());
+        List<ProductEntity> entities = new ArrayList<>(products.size());
+        for (Product product : products) {
+            ProductEntity entity = mapper.toEntity(product);
+            if (entity.getId() == null) {
+                entityManager.persist(entity);
+            } else {
+                entity = entityManager.merge(entity);
+            }
+            entities.add(entity);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return mapper.toDomainList(entities);
+    }
+    
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        entityManager.createQuery("DELETE FROM StockLeaseEntity l WHERE l.productId IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        return entityManager.createQuery("DELETE FROM ProductEntity p WHERE p.id IN :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+    
+    @Override
+    public List<Long> lockIdsMatching(ProductFilter filter, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT p.id FROM ProductEntity p WHERE 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+        if (filter.skuPrefix() != null && !filter.skuPrefix().isEmpty()) {
+            jpql.append(" AND p.sku LIKE :skuPrefix ESCAPE '!'");
+            parameters.put("skuPrefix", filter.skuPrefix().replaceAll("[!%_]", "!$0") + "%");
+        }
+        if (Boolean.TRUE.equals(filter.outOfStock())) {
+            jpql.append(" AND p.stockQuantity <= 0");
+        }
+        if (filter.notUpdatedSince() != null) {
+            jpql.append(" AND COALESCE(p.updatedAt, p.createdAt) < :notUpdatedSince");
+            parameters.put("notUpdatedSince", filter.notUpdatedSince());
+        }
+        jpql.append(" ORDER BY p.id");
+        
+        TypedQuery<Long> query = entityManager.createQuery(jpql.toString(), Long.class)
+                .setMaxResults(limit)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        parameters.forEach(query::setParameter);
+        return query.getResultList();
     }
 }
@@ -0,0 +1,109 @@
+package com.api.product.infrastructure.repository;
+
+import com.api.product.domain.ProductView;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Forward-only cursor over the products table used for streaming exports.
+ * <p>
+ * It runs on its own connection with auto-commit disabled, which is what lets
+ * PostgreSQL honour the fetch size with a server-side cursor instead of
+ * buffering the whole result. Rows are selected straight into
+ * {@link ProductView} through a stateless session, so nothing accumulates in
+ * a persistence context while the export runs. The
+ * cursor is not bound to a JTA transaction and can therefore be advanced from
+ * whichever worker thread requests the next element.
+ */
+class ProductScroll implements Iterable<ProductView>, AutoCloseable {
+
+    private final Connection connection;
+    private final StatelessSession session;
+    private final ScrollableResults<ProductView> results;
+
+    private ProductScroll(Connection connection, StatelessSession session, ScrollableResults<ProductView> results) {
+        this.connection = connection;
+        this.session = session;
+        this.results = results;
+    }
+
+    static ProductScroll open(DataSource dataSource, SessionFactory sessionFactory, int fetchSize) {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Error opening export cursor", e);
+        }
+        StatelessSession session = null;
+        try {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            session = sessionFactory.withStatelessOptions().connection(connection).openStatelessSession();
+            ScrollableResults<ProductView> results = session
+                    .createSelectionQuery(ProductViewQueries.VIEW + " ORDER BY p.id", ProductView.class)
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            return new ProductScroll(connection, session, results);
+        } catch (RuntimeException | SQLException e) {
+            if (session != null) {
+                session.close();
+            }
+            try {
+                connection.close();
+            } catch (SQLException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException("Error opening export cursor", e);
+        }
+    }
+
+    @Override
+    public Iterator<ProductView> iterator() {
+        return new Iterator<>() {
+            private Boolean hasNext;
+
+            @Override
+            public boolean hasNext() {
+                if (hasNext == null) {
+                    hasNext = results.next();
+                }
+                return hasNext;
+            }
+
+            @Override
+            public ProductView next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                hasNext = null;
+                return results.get();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        try {
+            results.close();
+            session.close();
+        } finally {
+            try {
+                // Read-only work: end the implicit transaction before the connection goes back to the pool
+                connection.rollback();
+                connection.setReadOnly(false);
+                connection.setAutoCommit(true);
+                connection.close();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Error closing export cursor", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.api.product.infrastructure.repository;
+
+import com.api.product.domain.ProductView;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Read-model queries that select straight into {@link ProductView}. No entity
+ * is instantiated or tracked for dirty checking, so they are read-only by
+ * construction and skip the entity to domain to DTO copies.
+ * <p>
+ * These live outside {@link ProductJpaRepository} because Quarkus' Spring Data
+ * support only maps {@code @Query} results to entities or interface projections,
+ * not to constructor expressions.
+ */
+@ApplicationScoped
+class ProductViewQueries {
+
+    static final String VIEW = "SELECT new com.api.product.domain.ProductView(p.id, p.name, p.description, p.price, "
+            + "p.stockQuantity, p.createdAt, p.updatedAt, p.sku, p.version) FROM ProductEntity p";
+
+    @Inject
+    EntityManager entityManager;
+
+    List<ProductView> findByIdIn(Collection<Long> ids) {
+        return query(VIEW + " WHERE p.id IN :ids")
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    List<ProductView> findBySkuIn(Collection<String> skus) {
+        return query(VIEW + " WHERE p.sku IN :skus")
+                .setParameter("skus", skus)
+                .getResultList();
+    }
+
+    List<ProductView> findByNameContaining(String name) {
+        return query(VIEW + " WHERE LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+                .setParameter("name", name)
+                .getResultList();
+    }
+
+    List<ProductView> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly, int limit) {
+        return query(VIEW + " WHERE p.price >= :minPrice AND p.price <= :maxPrice"
+                + (inStockOnly ? " AND p.stockQuantity > 0" : "") + " ORDER BY p.price, p.id")
+                .setParameter("minPrice", minPrice)
+                .setParameter("maxPrice", maxPrice)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Keyset pagination: each query seeks past the last row of the previous page
+    // instead of counting an OFFSET, so every page costs the same.
+
+    List<ProductView> findInStockPage(Long afterId, int limit) {
+        if (afterId == null) {
+            return query(VIEW + " WHERE p.stockQuantity > 0 ORDER BY p.id")
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return query(VIEW + " WHERE p.stockQuantity > 0 AND p.id > :afterId ORDER BY p.id")
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    List<ProductView> findPageOrderById(Long afterId, int limit) {
+        if (afterId == null) {
+            return query(VIEW + " ORDER BY p.id")
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return query(VIEW + " WHERE p.id > :afterId ORDER BY p.id")
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    List<ProductView> findPageOrderByCreatedAt(LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        if (afterCreatedAt == null) {
+            return query(VIEW + " ORDER BY p.createdAt, p.id")
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return query(VIEW + " WHERE p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :afterId)"
+                + " ORDER BY p.createdAt, p.id")
+                .setParameter("createdAt", afterCreatedAt)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    List<ProductView> findPageOrderByPrice(BigDecimal afterPrice, Long afterId, int limit) {
+        if (afterPrice == null) {
+            return query(VIEW + " ORDER BY p.price, p.id")
+                    .setMaxResults(limit)
+                    .getResultList();
+        }
+        return query(VIEW + " WHERE p.price > :price OR (p.price = :price AND p.id > :afterId) ORDER BY p.price, p.id")
+                .setParameter("price", afterPrice)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<ProductView> query(String jpql) {
+        return entityManager.createQuery(jpql, ProductView.class);
+    }
+}
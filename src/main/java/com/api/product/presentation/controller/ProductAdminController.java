@@ -0,0 +1,92 @@
+package com.api.product.presentation.controller;
+
+import com.api.product.application.importer.ProductImportFormat;
+import com.api.product.application.importer.ProductImportReport;
+import com.api.product.application.importer.ProductImportService;
+import com.api.product.domain.ProductImportStatus;
+import com.api.product.infrastructure.cache.ProductCache;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.annotation.security.RolesAllowed;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.openapi.annotations.Operation;
+import org.eclipse.microprofile.openapi.annotations.media.Content;
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
+import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
+import org.eclipse.microprofile.openapi.annotations.security.SecurityRequirement;
+import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+
+import java.io.InputStream;
+import java.util.Map;
+
+@Path("/api/admin/products")
+@Produces(MediaType.APPLICATION_JSON)
+@RolesAllowed("admin")
+@SecurityRequirement(name = "JWT")
+@Tag(name = "Product Administration", description = "Operational endpoints for the product API")
+@RunOnVirtualThread
+public class ProductAdminController {
+
+    @Inject
+    ProductCache productCache;
+
+    @Inject
+    ProductImportService importService;
+
+    @GET
+    @Path("/cache")
+    @Operation(summary = "Get product cache statistics (requires ADMIN role)")
+    public Map<String, Object> getCacheStats() {
+        return productCache.stats();
+    }
+
+    @POST
+    @Path("/import")
+    @Consumes({"text/csv", RestMediaType.APPLICATION_NDJSON})
+    @Operation(summary = "Import a product feed (requires ADMIN role)",
+            description = "Streams a CSV or NDJSON feed into the catalog in chunked transactions. Products are matched by SKU. "
+                    + "Pass the importId of a failed import to resume after its last committed chunk")
+    @APIResponse(
+        responseCode = "200",
+        description = "Import completed",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductImportReport.class))
+    )
+    @APIResponse(
+        responseCode = "409",
+        description = "The import id belongs to a completed import or to one that is still running"
+    )
+    @APIResponse(
+        responseCode = "500",
+        description = "Import failed; the report tells how far it got"
+    )
+    public Response importProducts(
+            @Context HttpHeaders headers,
+            @Parameter(description = "Id used to resume the import; generated when absent") @QueryParam("importId") String importId,
+            InputStream feed) {
+        ProductImportFormat format = ProductImportFormat.from(headers.getMediaType().toString());
+        ProductImportReport report = importService.importFeed(feed, format, importId);
+        Response.Status status = report.status() == ProductImportStatus.COMPLETED
+                ? Response.Status.OK
+                : Response.Status.INTERNAL_SERVER_ERROR;
+        return Response.status(status).entity(report).build();
+    }
+
+    @GET
+    @Path("/import/{importId}")
+    @Operation(summary = "Get the progress of a product feed import (requires ADMIN role)")
+    public ProductImportReport getImport(@PathParam("importId") String importId) {
+        return importService.getImport(importId);
+    }
+}
@@ -1,16 +1,35 @@
 package com.api.product.presentation.controller;
 
+import com.api.product.application.dto.ProductBulkDeleteDTO;
 import com.api.product.application.dto.ProductDTO;
+import com.api.product.application.dto.ProductPageDTO;
+import com.api.product.application.dto.ProductPatchDTO;
+import com.api.product.application.dto.ProductStockDTO;
 import com.api.product.application.mapper.ProductDtoMapper;
+import com.api.product.application.pagination.ProductPage;
 import com.api.product.application.service.ProductService;
+import com.api.product.application.service.StockReservationService;
 import com.api.product.domain.Product;
+import com.api.product.domain.ProductFilter;
+import com.api.product.domain.ProductView;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Multi;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
@@ -18,29 +37,113 @@ import org.eclipse.microprofile.openapi.annotations.media.Content;
 import org.eclipse.microprofile.openapi.annotations.media.Schema;
 import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
 @Path("/api/products")
 @Produces(MediaType.APPLICATION_JSON)
 @Consumes(MediaType.APPLICATION_JSON)
 @Tag(name = "Product", description = "Product operations")
+@RunOnVirtualThread
 public class ProductController {
 
     @Inject
     ProductService productService;
     
+    @Inject
+    StockReservationService stockReservationService;
+    
     @Inject
     ProductDtoMapper mapper;
     
     @GET
-    @Operation(summary = "Get all products", description = "Returns a list of all products")
+    @Operation(summary = "Get products", description = "Returns a page of products. Pass the returned nextCursor as 'after' to fetch the next page. "
+            + "With ids or skus, returns those products in request order together with the keys that were not found")
     @APIResponse(
         responseCode = "200",
-        description = "List of products",
-        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDTO.class, type = SchemaType.ARRAY))
+        description = "Page of products",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductPageDTO.class))
+    )
+    @APIResponse(
+        responseCode = "304",
+        description = "No product changed since the page with the given ETag was read"
+    )
+    @APIResponse(
+        responseCode = "400",
+        description = "Invalid sort, cursor or limit"
+    )
+    public Response getAllProducts(
+            @Parameter(description = "Maximum number of products to return") @QueryParam("limit") Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @QueryParam("after") String after,
+            @Parameter(description = "Sort key: id, createdAt or price") @QueryParam("sort") @DefaultValue("id") String sort,
+            @Parameter(description = "Comma-separated product ids to look up instead of paging") @QueryParam("ids") List<String> ids,
+            @Parameter(description = "Comma-separated SKUs to look up instead of paging") @QueryParam("skus") List<String> skus,
+            @Context Request request,
+            @Context UriInfo uriInfo) {
+        List<String> idKeys = splitKeys(ids);
+        List<String> skuKeys = splitKeys(skus);
+        if (!idKeys.isEmpty() && !skuKeys.isEmpty()) {
+            throw new BadRequestException("Look up either ids or skus, not both");
+        }
+        List<Long> productIds = idKeys.isEmpty() ? List.of() : parseIds(idKeys);
+        
+        EntityTag tag = ProductPreconditions.listTag(productService.getCatalogRevision(), uriInfo.getRequestUri().getRawQuery());
+        return ProductPreconditions.conditional(request, tag, null, () -> {
+            if (!productIds.isEmpty()) {
+                return productService.getProductsByIds(productIds);
+            }
+            if (!skuKeys.isEmpty()) {
+                return productService.getProductsBySkus(skuKeys);
+            }
+            ProductPage<ProductView> page = productService.getProductPage(sort, after, limit);
+            return new ProductPageDTO(page.items(), page.nextCursor());
+        });
+    }
+    
+    /**
+     * Accepts both {@code ids=1,2,3} and repeated {@code ids=1&ids=2}.
+     */
+    private static List<String> splitKeys(List<String> values) {
+        List<String> keys = new ArrayList<>();
+        if (values != null) {
+            for (String value : values) {
+                for (String key : value.split(",")) {
+                    if (!key.isBlank()) {
+                        keys.add(key.trim());
+                    }
+                }
+            }
+        }
+        return keys;
+    }
+    
+    private static List<Long> parseIds(List<String> keys) {
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            try {
+                ids.add(Long.valueOf(key));
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid product id: " + key);
+            }
+        }
+        return ids;
+    }
+    
+    @GET
+    @Path("/export")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Export all products", description = "Streams the whole catalog as newline-delimited JSON, one product per line")
+    @APIResponse(
+        responseCode = "200",
+        description = "Products as NDJSON",
+        content = @Content(mediaType = RestMediaType.APPLICATION_NDJSON, schema = @Schema(implementation = ProductView.class))
     )
-    public List<ProductDTO> getAllProducts() {
-        List<Product> products = productService.getAllProducts();
-        return mapper.toDtoList(products);
+    // A Multi is non-blocking by default, and Quarkus fails the build when the class-level
+    // @RunOnVirtualThread applies to a non-blocking method; the scroll runs on the worker pool
+    @Blocking
+    public Multi<ProductView> exportProducts() {
+        return productService.exportProducts();
     }
     
     @GET
@@ -51,14 +154,20 @@ public class ProductController {
         description = "The product",
         content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDTO.class))
     )
+    @APIResponse(
+        responseCode = "304",
+        description = "The product has not changed since the given ETag or date"
+    )
     @APIResponse(
         responseCode = "404",
         description = "Product not found"
     )
-    public ProductDTO getProductById(
-            @Parameter(description = "Product ID", required = true) @PathParam("id") Long id) {
+    public Response getProductById(
+            @Parameter(description = "Product ID", required = true) @PathParam("id") Long id,
+            @Context Request request) {
         Product product = productService.getProductById(id);
-        return mapper.toDto(product);
+        return ProductPreconditions.conditional(request, ProductPreconditions.tag(product),
+                ProductPreconditions.lastModified(product), () -> mapper.toDto(product));
     }
     
     @POST
@@ -77,6 +186,42 @@ public class ProductController {
                 .build();
     }
     
+    @POST
+    @Path("/batch")
+    @Operation(summary = "Create products in batch", description = "Creates all given products in one transaction")
+    @APIResponse(
+        responseCode = "201",
+        description = "Products created, in request order",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDTO.class, type = SchemaType.ARRAY))
+    )
+    @APIResponse(
+        responseCode = "400",
+        description = "Empty or oversized batch, or an invalid product"
+    )
+    public Response createProducts(@NotNull List<@NotNull @Valid ProductDTO> productDtos) {
+        List<Product> created = productService.createProducts(mapper.toDomainList(productDtos));
+        return Response.status(Response.Status.CREATED)
+                .entity(mapper.toDtoList(created))
+                .build();
+    }
+    
+    @PUT
+    @Path("/batch")
+    @Operation(summary = "Upsert products by SKU", description = "Creates or updates all given products, matched by SKU, in one transaction")
+    @APIResponse(
+        responseCode = "200",
+        description = "Products created or updated, in request order",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductDTO.class, type = SchemaType.ARRAY))
+    )
+    @APIResponse(
+        responseCode = "400",
+        description = "Empty or oversized batch, missing or duplicate SKU, or an invalid product"
+    )
+    public List<ProductDTO> upsertProducts(@NotNull List<@NotNull @Valid ProductDTO> productDtos) {
+        List<Product> saved = productService.upsertProductsBySku(mapper.toDomainList(productDtos));
+        return mapper.toDtoList(saved);
+    }
+    
     @PUT
     @Path("/{id}")
     @Operation(summary = "Update a product", description = "Updates an existing product")
@@ -97,6 +242,75 @@ public class ProductController {
         return mapper.toDto(updated);
     }
     
+    @PATCH
+    @Path("/{id}")
+    @Operation(summary = "Partially update a product",
+            description = "Updates only the given fields, provided the product is still at the given version. The product's new ETag is returned in the ETag header")
+    @APIResponse(
+        responseCode = "204",
+        description = "Product updated"
+    )
+    @APIResponse(
+        responseCode = "404",
+        description = "Product not found"
+    )
+    @APIResponse(
+        responseCode = "409",
+        description = "Product was modified since the given version"
+    )
+    public Response patchProduct(
+            @Parameter(description = "Product ID", required = true) @PathParam("id") Long id,
+            @NotNull @Valid ProductPatchDTO patchDto) {
+        Product patched = productService.patchProduct(id, patchDto.getVersion(), mapper.toPatch(patchDto));
+        return Response.noContent()
+                .tag(ProductPreconditions.tag(patched))
+                .build();
+    }
+    
+    @POST
+    @Path("/{id}/reserve")
+    @Operation(summary = "Reserve stock", description = "Takes units from the product's stock atomically. Stock never goes below zero")
+    @APIResponse(
+        responseCode = "204",
+        description = "Stock reserved"
+    )
+    @APIResponse(
+        responseCode = "404",
+        description = "Product not found"
+    )
+    @APIResponse(
+        responseCode = "409",
+        description = "Not enough stock"
+    )
+    public Response reserveStock(
+            @Parameter(description = "Product ID", required = true) @PathParam("id") Long id,
+            @NotNull @Valid ProductStockDTO stockDto) {
+        stockReservationService.reserve(id, stockDto.getQuantity());
+        return Response.noContent().build();
+    }
+    
+    @POST
+    @Path("/{id}/release")
+    @Operation(summary = "Release stock", description = "Gives previously reserved units back to the product's stock")
+    @APIResponse(
+        responseCode = "204",
+        description = "Stock released"
+    )
+    @APIResponse(
+        responseCode = "404",
+        description = "Product not found"
+    )
+    @APIResponse(
+        responseCode = "409",
+        description = "Fewer units than that are reserved"
+    )
+    public Response releaseStock(
+            @Parameter(description = "Product ID", required = true) @PathParam("id") Long id,
+            @NotNull @Valid ProductStockDTO stockDto) {
+        stockReservationService.release(id, stockDto.getQuantity());
+        return Response.noContent().build();
+    }
+    
     @DELETE
     @Path("/{id}")
     @Operation(summary = "Delete a product", description = "Deletes a product by its ID")
@@ -114,30 +328,63 @@ public class ProductController {
         return Response.noContent().build();
     }
     
+    @POST
+    @Path("/bulk-delete")
+    @Operation(summary = "Delete products in bulk",
+            description = "Deletes the products with the given ids, or every product matching the filter (skuPrefix, outOfStock, notUpdatedSince). Returns the number deleted")
+    @APIResponse(
+        responseCode = "200",
+        description = "Number of products deleted"
+    )
+    @APIResponse(
+        responseCode = "400",
+        description = "Missing body, neither or both of ids and filter given, a null id, or too many ids"
+    )
+    public Map<String, Long> deleteProducts(@NotNull @Valid ProductBulkDeleteDTO request) {
+        ProductFilter filter = new ProductFilter(request.getSkuPrefix(), request.getOutOfStock(), request.getNotUpdatedSince());
+        boolean byIds = request.getIds() != null;
+        if (byIds == !filter.isEmpty()) {
+            throw new BadRequestException("Give either ids or filter criteria");
+        }
+        long deleted = byIds
+                ? productService.deleteProducts(request.getIds())
+                : productService.deleteProductsMatching(filter);
+        return Map.of("deleted", deleted);
+    }
+    
     @GET
     @Path("/search")
-    @Operation(summary = "Search products by name", description = "Returns products matching the name")
-    public List<ProductDTO> searchProducts(
-            @Parameter(description = "Product name to search") @QueryParam("name") String name) {
-        List<Product> products = productService.searchProductsByName(name);
-        return mapper.toDtoList(products);
+    @Operation(summary = "Search products by name", description = "Returns products whose name contains the given text, ignoring case, best matches first")
+    public List<ProductView> searchProducts(
+            @Parameter(description = "Product name to search") @QueryParam("name") String name,
+            @Parameter(description = "Only return products in stock") @QueryParam("inStock") boolean inStockOnly,
+            @Parameter(description = "Maximum number of products to return") @QueryParam("limit") Integer limit) {
+        return productService.searchProductsByName(name, inStockOnly, limit);
     }
     
     @GET
     @Path("/price-range")
-    @Operation(summary = "Get products by price range", description = "Returns products within the specified price range")
-    public List<ProductDTO> getProductsByPriceRange(
-            @Parameter(description = "Minimum price") @QueryParam("min") double minPrice,
-            @Parameter(description = "Maximum price") @QueryParam("max") double maxPrice) {
-        List<Product> products = productService.getProductsByPriceRange(minPrice, maxPrice);
-        return mapper.toDtoList(products);
+    @Operation(summary = "Get products by price range", description = "Returns products within the specified price range, cheapest first")
+    public List<ProductView> getProductsByPriceRange(
+            @Parameter(description = "Minimum price") @QueryParam("min") @DefaultValue("0") BigDecimal minPrice,
+            @Parameter(description = "Maximum price", required = true) @QueryParam("max") BigDecimal maxPrice,
+            @Parameter(description = "Only return products in stock") @QueryParam("inStock") boolean inStockOnly,
+            @Parameter(description = "Maximum number of products to return") @QueryParam("limit") Integer limit) {
+        return productService.getProductsByPriceRange(minPrice, maxPrice, inStockOnly, limit);
     }
     
     @GET
     @Path("/in-stock")
-    @Operation(summary = "Get products in stock", description = "Returns products that are in stock")
-    public List<ProductDTO> getProductsInStock() {
-        List<Product> products = productService.getProductsInStock();
-        return mapper.toDtoList(products);
+    @Operation(summary = "Get products in stock", description = "Returns a page of products that are in stock, in id order")
+    @APIResponse(
+        responseCode = "200",
+        description = "Page of products in stock",
+        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductPageDTO.class))
+    )
+    public ProductPageDTO getProductsInStock(
+            @Parameter(description = "Maximum number of products to return") @QueryParam("limit") Integer limit,
+            @Parameter(description = "Cursor returned as nextCursor by the previous page") @QueryParam("after") String after) {
+        ProductPage<ProductView> page = productService.getProductsInStock(after, limit);
+        return new ProductPageDTO(page.items(), page.nextCursor());
     }
 }
@@ -0,0 +1,74 @@
+package com.api.product.presentation.controller;
+
+import com.api.product.domain.Product;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Date;
+import java.util.function.Supplier;
+
+/**
+ * Validators for conditional GETs on product resources. The response body is
+ * only built when the client's copy is stale.
+ */
+final class ProductPreconditions {
+
+    private ProductPreconditions() {
+    }
+
+    /**
+     * A product's ETag is its version and update time in epoch milliseconds,
+     * the same value PATCH returns.
+     */
+    static EntityTag tag(Product product) {
+        long version = product.getVersion() != null ? product.getVersion() : 0;
+        LocalDateTime modified = product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt();
+        long millis = modified != null ? modified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+        return new EntityTag(version + "-" + millis);
+    }
+
+    /**
+     * HTTP dates have second precision, so the time is truncated; otherwise
+     * If-Modified-Since would never match.
+     */
+    static Date lastModified(Product product) {
+        LocalDateTime modified = product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt();
+        return modified == null ? null
+                : Date.from(modified.truncatedTo(ChronoUnit.SECONDS).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * Lists are tagged with the catalog revision and a digest of the query
+     * that selected the page. They carry no Last-Modified: a deletion does not
+     * move the latest modification time, so If-Modified-Since could not see it.
+     */
+    static EntityTag listTag(String catalogRevision, String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(query).getBytes(StandardCharsets.UTF_8));
+            return new EntityTag(catalogRevision + "-" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static Response conditional(Request request, EntityTag tag, Date lastModified, Supplier<Object> body) {
+        Response.ResponseBuilder notModified = lastModified != null
+                ? request.evaluatePreconditions(lastModified, tag)
+                : request.evaluatePreconditions(tag);
+        Response.ResponseBuilder response = notModified != null ? notModified : Response.ok(body.get());
+        response.tag(tag);
+        if (lastModified != null) {
+            response.lastModified(lastModified);
+        }
+        return response.build();
+    }
+}
@@ -0,0 +1,92 @@
+package com.api.auth.application.service;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @BeforeEach
+    public void setUp() {
+        hasher = new PasswordHasher();
+        hasher.iterations = 1000;
+        hasher.threads = 1;
+        hasher.queueCapacity = 1;
+        hasher.retryAfterSeconds = 1;
+        hasher.init();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Test
+    public void testHashesAreSaltedAndVerify() {
+        String first = hasher.hash("secret");
+        String second = hasher.hash("secret");
+
+        assertNotEquals(first, second);
+        assertTrue(hasher.verify("secret", first));
+        assertTrue(hasher.verify("secret", second));
+        assertFalse(hasher.verify("Secret", first));
+        assertFalse(hasher.needsRehash(first));
+    }
+
+    @Test
+    public void testUnknownUsersAreCheckedAgainstAnEquallyExpensiveHash() {
+        // Same iterations as a current hash, so it costs as much to verify
+        assertFalse(hasher.needsRehash(hasher.dummyHash));
+        assertFalse(hasher.verifyNow("", hasher.dummyHash));
+        hasher.verifyUnknownUser("secret");
+    }
+
+    @Test
+    public void testLegacyAndWeakerHashesVerifyButNeedRehash() {
+        // Unsalted SHA-256 of "admin123", as stored before PBKDF2
+        String legacy = "JAvlGPq9JyTdtvBO6x2llnRI1+gxwIyPqCKAn3THIKk=";
+        assertTrue(hasher.verify("admin123", legacy));
+        assertFalse(hasher.verify("admin124", legacy));
+        assertTrue(hasher.needsRehash(legacy));
+
+        String weaker = hasher.hash("secret");
+        hasher.iterations = 2000;
+        assertTrue(hasher.verify("secret", weaker));
+        assertTrue(hasher.needsRehash(weaker));
+    }
+
+    @Test
+    public void testSaturatedPoolRejectsImmediately() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> hasher.submit(() -> {
+            running.countDown();
+            release.await();
+            return null;
+        }));
+        running.await();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.hash("queued"));
+        while (hasher.executor.getQueue().isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        ServiceUnavailableException rejected = assertThrows(ServiceUnavailableException.class, () -> hasher.hash("rejected"));
+        assertEquals(503, rejected.getResponse().getStatus());
+
+        release.countDown();
+        busy.get();
+        assertTrue(hasher.verify("queued", queued.get()));
+    }
+}
@@ -1,18 +1,37 @@
 package com.api.auth.controller;
 
 import com.api.auth.application.dto.LoginRequest;
+import com.api.auth.application.dto.RefreshRequest;
 import com.api.auth.application.dto.RegisterRequest;
+import com.api.auth.domain.User;
+import com.api.auth.infrastructure.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @QuarkusTest
 public class AuthControllerTest {
 
+    @Inject
+    UserRepository userRepository;
+
     @Test
     public void testRegisterUser() {
         RegisterRequest request = new RegisterRequest("testuser", "test@example.com", "password123");
@@ -46,6 +65,25 @@ public class AuthControllerTest {
             .body("role", is("ADMIN"));
     }
 
+    @Test
+    public void testUnknownUserAndWrongPasswordAreRejectedAlike() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("no-such-user", "admin123"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(401);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("admin", "wrong-password"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(401);
+    }
+
     @Test
     public void testProtectedEndpointWithoutToken() {
         given()
@@ -105,6 +143,298 @@ public class AuthControllerTest {
             .statusCode(403); // Forbidden
     }
 
+    @Test
+    public void testRepeatedTokenIsAcceptedAndAlteredTokenRejected() {
+        String token = given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("user", "user123"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(200)
+            .extract()
+            .path("token");
+
+        for (int i = 0; i < 2; i++) {
+            given()
+                .header("Authorization", "Bearer " + token)
+            .when()
+                .get("/protected/user")
+            .then()
+                .statusCode(200)
+                .body("username", is("user"));
+        }
+
+        // The same claims with another signature must not match the verified token
+        String[] parts = token.split("\\.");
+        String forged = parts[0] + "." + parts[1] + "." + new StringBuilder(parts[2]).reverse();
+        given()
+            .header("Authorization", "Bearer " + forged)
+        .when()
+            .get("/protected/user")
+        .then()
+            .statusCode(401);
+    }
+
+    @Test
+    public void testLoginUpgradesLegacyPasswordHash() {
+        // Unsalted SHA-256 of "legacy123", as stored before PBKDF2
+        QuarkusTransaction.requiringNew().run(() -> userRepository.persist(new User("legacy", "legacy@example.com",
+                "WICgmGF3EGmFe7e4xlnf5Z6PV5vt0p3rmFmbmW6EY/M=", User.Role.USER)));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("legacy", "legacy123"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(200)
+            .body("token", notNullValue());
+
+        String stored = userRepository.findByUsername("legacy").orElseThrow().getPassword();
+        assertTrue(stored.startsWith("pbkdf2-sha256$"), stored);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("legacy", "legacy123"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(200);
+    }
+
+    @Test
+    public void testDuplicateUsernameOrEmailIsRejected() {
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RegisterRequest("dupe", "dupe@example.com", "password123"))
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(201);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RegisterRequest("dupe", "other@example.com", "password123"))
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(400)
+            .body("message", is("Username already exists"));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RegisterRequest("other", "dupe@example.com", "password123"))
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(400)
+            .body("message", is("Email already exists"));
+    }
+
+    @Test
+    public void testUsernameAvailability() {
+        given()
+            .queryParam("username", "admin")
+        .when()
+            .get("/auth/available")
+        .then()
+            .statusCode(200)
+            .body("username", is("admin"))
+            .body("available", is(false));
+
+        given()
+            .queryParam("username", "newcomer")
+        .when()
+            .get("/auth/available")
+        .then()
+            .statusCode(200)
+            .body("available", is(true));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RegisterRequest("newcomer", "newcomer@example.com", "password123"))
+        .when()
+            .post("/auth/register")
+        .then()
+            .statusCode(201);
+
+        given()
+            .queryParam("username", "newcomer")
+        .when()
+            .get("/auth/available")
+        .then()
+            .statusCode(200)
+            .body("available", is(false));
+
+        given()
+        .when()
+            .get("/auth/available")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testRefreshRotatesAndReuseRevokesTheFamily() {
+        ExtractableResponse<Response> login = login("user", "user123");
+        String firstRefresh = login.path("refreshToken");
+
+        ExtractableResponse<Response> refreshed = given()
+            .contentType(ContentType.JSON)
+            .body(new RefreshRequest(firstRefresh))
+        .when()
+            .post("/auth/refresh")
+        .then()
+            .statusCode(200)
+            .body("username", is("user"))
+            .extract();
+        String secondAccess = refreshed.path("token");
+        String secondRefresh = refreshed.path("refreshToken");
+        given().header("Authorization", "Bearer " + secondAccess).when().get("/protected/user").then().statusCode(200);
+
+        // Replaying the used refresh token revokes everything issued from this login
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RefreshRequest(firstRefresh))
+        .when()
+            .post("/auth/refresh")
+        .then()
+            .statusCode(401);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RefreshRequest(secondRefresh))
+        .when()
+            .post("/auth/refresh")
+        .then()
+            .statusCode(401);
+        given().header("Authorization", "Bearer " + secondAccess).when().get("/protected/user").then().statusCode(401);
+        given().header("Authorization", "Bearer " + login.path("token")).when().get("/protected/user").then().statusCode(401);
+    }
+
+    @Test
+    public void testConcurrentReuseRevokesTheWinningRefresh() throws Exception {
+        String refreshToken = login("user", "user123").path("refreshToken");
+
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        List<ExtractableResponse<Response>> refreshed = new ArrayList<>();
+        try {
+            List<Future<ExtractableResponse<Response>>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(clients.submit(() -> given()
+                    .contentType(ContentType.JSON)
+                    .body(new RefreshRequest(refreshToken))
+                .when()
+                    .post("/auth/refresh")
+                .then()
+                    .extract()));
+            }
+            for (Future<ExtractableResponse<Response>> response : responses) {
+                ExtractableResponse<Response> result = response.get();
+                assertTrue(result.statusCode() == 200 || result.statusCode() == 401, "unexpected status " + result.statusCode());
+                if (result.statusCode() == 200) {
+                    refreshed.add(result);
+                }
+            }
+        } finally {
+            clients.shutdown();
+        }
+        assertEquals(1, refreshed.size());
+
+        // The losers saw a used token, so the pair the winner got is revoked as well
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RefreshRequest(refreshed.get(0).path("refreshToken")))
+        .when()
+            .post("/auth/refresh")
+        .then()
+            .statusCode(401);
+        given().header("Authorization", "Bearer " + refreshed.get(0).path("token")).when().get("/protected/user").then().statusCode(401);
+    }
+
+    @Test
+    public void testLogoutRevokesAccessAndRefreshToken() {
+        ExtractableResponse<Response> login = login("admin", "admin123");
+        String token = login.path("token");
+        given().header("Authorization", "Bearer " + token).when().get("/protected/user").then().statusCode(200);
+
+        given()
+            .header("Authorization", "Bearer " + token)
+            .contentType(ContentType.JSON)
+            .body(new RefreshRequest(login.path("refreshToken")))
+        .when()
+            .post("/auth/logout")
+        .then()
+            .statusCode(204);
+
+        given().header("Authorization", "Bearer " + token).when().get("/protected/user").then().statusCode(401);
+        given()
+            .contentType(ContentType.JSON)
+            .body(new RefreshRequest(login.path("refreshToken")))
+        .when()
+            .post("/auth/refresh")
+        .then()
+            .statusCode(401);
+
+        // Other sessions of the same user are not affected
+        given().header("Authorization", "Bearer " + login("admin", "admin123").path("token"))
+        .when()
+            .get("/protected/user")
+        .then()
+            .statusCode(200);
+    }
+
+    @Test
+    public void testRepeatedFailedLoginsAreThrottled() {
+        LoginRequest request = new LoginRequest("throttled", "wrong-password");
+        for (int i = 0; i < 10; i++) {
+            given().contentType(ContentType.JSON).body(request).when().post("/auth/login").then().statusCode(401);
+        }
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(429)
+            .header("Retry-After", notNullValue())
+            .body("message", is("Too many login attempts"));
+
+        // Case variants share the bucket; other usernames do not
+        given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("THROTTLED", "wrong-password"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(429);
+        login("admin", "admin123");
+    }
+
+    @Test
+    public void testOversizedLoginBodyIsRejected() {
+        LoginRequest request = new LoginRequest("admin", "x".repeat(5000));
+        given()
+            .contentType(ContentType.JSON)
+            .body(request)
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(413);
+
+        // Without a Content-Length the body is read only up to the limit
+        byte[] body = ("{\"username\":\"admin\",\"password\":\"" + "x".repeat(5000) + "\"}").getBytes();
+        given()
+            .contentType(ContentType.JSON)
+            .body(new ByteArrayInputStream(body))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(413);
+        login("admin", "admin123");
+    }
+
     @Test
     public void testPublicEndpoint() {
         given()
@@ -114,4 +444,16 @@ public class AuthControllerTest {
             .statusCode(200)
             .body("message", notNullValue());
     }
+
+    private static ExtractableResponse<Response> login(String username, String password) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest(username, password))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(200)
+            .body("refreshToken", notNullValue())
+            .extract();
+    }
 }
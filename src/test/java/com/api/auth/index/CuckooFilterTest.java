@@ -0,0 +1,51 @@
+package com.api.auth.index;
+
+import com.api.auth.infrastructure.index.CuckooFilter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CuckooFilterTest {
+
+    @Test
+    public void testAddedValuesAreFoundUntilRemoved() {
+        CuckooFilter filter = new CuckooFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.add("token" + i));
+        }
+        assertEquals(10_000, filter.size());
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 100, "false positives: " + falsePositives);
+
+        for (int i = 0; i < 5_000; i++) {
+            assertTrue(filter.remove("token" + i));
+        }
+        for (int i = 5_000; i < 10_000; i++) {
+            assertTrue(filter.mightContain("token" + i), "token" + i);
+        }
+        assertEquals(5_000, filter.size());
+    }
+
+    @Test
+    public void testFullFilterKeepsEveryValueAddedBefore() {
+        CuckooFilter filter = new CuckooFilter(100);
+        int added = 0;
+        while (filter.add("token" + added)) {
+            added++;
+        }
+        assertFalse(filter.add("one-more"));
+
+        // The value that did not fit is still reported, as are all earlier ones
+        for (int i = 0; i <= added; i++) {
+            assertTrue(filter.mightContain("token" + i), "token" + i);
+        }
+    }
+}
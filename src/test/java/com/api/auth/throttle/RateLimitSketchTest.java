@@ -0,0 +1,102 @@
+package com.api.auth.throttle;
+
+import com.api.auth.infrastructure.throttle.RateLimitSketch;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimitSketchTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    public void testBurstIsAllowedThenRejectedWithWait() {
+        RateLimitSketch sketch = new RateLimitSketch(1024, 2, 5, MINUTE);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, sketch.tryAcquire("alice"));
+        }
+        long wait = sketch.tryAcquire("alice");
+        assertTrue(wait > MINUTE - TimeUnit.SECONDS.toNanos(5) && wait <= MINUTE, "wait: " + wait);
+
+        // Rejected attempts do not push the bucket further
+        assertTrue(sketch.tryAcquire("alice") <= wait);
+        assertEquals(0, sketch.tryAcquire("bob"));
+    }
+
+    @Test
+    public void testRefundGivesAnAttemptBack() {
+        RateLimitSketch sketch = new RateLimitSketch(1024, 2, 3, MINUTE);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, sketch.tryAcquire("alice"));
+        }
+        assertTrue(sketch.tryAcquire("alice") > 0);
+
+        sketch.refund("alice");
+        assertEquals(0, sketch.tryAcquire("alice"));
+        assertTrue(sketch.tryAcquire("alice") > 0);
+    }
+
+    @Test
+    public void testFewKeysAreLimitedIndependentlyInASmallSketch() {
+        RateLimitSketch sketch = new RateLimitSketch(4096, 2, 2, MINUTE);
+        assertEquals(4096 * 2 * 8, sketch.memoryBytes());
+        // A key sharing a bucket with another may be limited early, never late
+        int fullBursts = 0;
+        for (int key = 0; key < 100; key++) {
+            boolean first = sketch.tryAcquire("user" + key) == 0;
+            boolean second = sketch.tryAcquire("user" + key) == 0;
+            fullBursts += first && second ? 1 : 0;
+        }
+        assertTrue(fullBursts >= 90, "keys with their full burst: " + fullBursts);
+        int limited = 0;
+        for (int key = 0; key < 100; key++) {
+            if (sketch.tryAcquire("user" + key) > 0) {
+                limited++;
+            }
+        }
+        assertEquals(100, limited);
+    }
+
+    @Test
+    public void testConcurrentRequestsNeverExceedTheBurst() throws Exception {
+        RateLimitSketch sketch = new RateLimitSketch(1024, 2, 50, TimeUnit.HOURS.toNanos(1));
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> allowed = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                allowed.add(threads.submit(() -> {
+                    start.await();
+                    int count = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        count += sketch.tryAcquire("alice") == 0 ? 1 : 0;
+                    }
+                    return count;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> count : allowed) {
+                total += count.get();
+            }
+            assertEquals(50, total);
+        } finally {
+            threads.shutdown();
+        }
+
+        // Rejected requests gave back what they took, and other keys are unaffected
+        sketch.refund("alice");
+        assertEquals(0, sketch.tryAcquire("alice"));
+        assertTrue(sketch.tryAcquire("alice") > 0);
+        assertEquals(0, sketch.tryAcquire("bob"));
+    }
+}
@@ -0,0 +1,42 @@
+package com.api.metrics;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+
+@QuarkusTest
+public class MetricsControllerTest {
+
+    @Test
+    public void testMetricsCoverEndpointsRepositoriesMappersAndPersistence() {
+        int id = given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("name", "Metered product", "price", "9.90", "stockQuantity", 1))
+        .when()
+            .post("/api/products")
+        .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+        given().when().get("/api/products/" + id).then().statusCode(200);
+
+        given()
+        .when()
+            .get("/q/metrics")
+        .then()
+            .statusCode(200)
+            .contentType(containsString("text/plain"))
+            .body(containsString("# TYPE http_server_requests_seconds histogram"))
+            .body(containsString("http_server_requests_seconds_count{method=\"GET\",uri=\"/api/products/{id}\",status=\"200\"}"))
+            .body(containsString("http_server_requests_seconds_bucket{method=\"POST\",uri=\"/api/products\",status=\"201\",le=\"+Inf\"}"))
+            .body(containsString("repository_call_seconds_count{repository=\"ProductRepositoryImpl\",method=\"save\"}"))
+            .body(containsString("mapper_conversions_total{mapper=\"ProductDtoMapper\",method=\"toDto\"}"))
+            .body(containsString("hibernate_statements_prepared_total "))
+            .body(containsString("datasource_wait_seconds_total "));
+    }
+}
@@ -0,0 +1,40 @@
+package com.api.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PercentileHistogramTest {
+
+    @Test
+    public void testPercentilesStayWithinRelativeError() {
+        PercentileHistogram histogram = new PercentileHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000, histogram.max());
+        assertWithin(50_000, histogram.percentile(50));
+        assertWithin(99_000, histogram.percentile(99));
+        assertWithin(99_900, histogram.percentile(99.9));
+        assertEquals(100_000, histogram.percentile(100));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        PercentileHistogram histogram = new PercentileHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(7);
+
+        assertEquals(7, histogram.percentile(50));
+        assertEquals(3, histogram.percentile(10));
+        assertEquals(17, histogram.sum());
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 32 + 1, "expected about " + expected + " but was " + actual);
+    }
+}
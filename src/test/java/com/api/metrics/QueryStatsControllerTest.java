@@ -0,0 +1,87 @@
+package com.api.metrics;
+
+import com.api.auth.application.dto.LoginRequest;
+import com.api.auth.infrastructure.repository.UserRepository;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.http.ContentType;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+public class QueryStatsControllerTest {
+
+    @Inject
+    QueryRecorder recorder;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Test
+    public void testQueryStatsRecordRepositoryLatencyAndSlowestStatements() {
+        given()
+        .when()
+            .get("/api/admin/queries")
+        .then()
+            .statusCode(401);
+
+        String token = given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("admin", "admin123"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(200)
+            .extract()
+            .path("token");
+
+        given().header("Authorization", "Bearer " + token).when().delete("/api/admin/queries").then().statusCode(204);
+
+        int id = given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("name", "Recorded product", "price", "19.90", "stockQuantity", 1))
+        .when()
+            .post("/api/products")
+        .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+        given().queryParam("ids", id).when().get("/api/products").then().statusCode(200);
+
+        given()
+            .header("Authorization", "Bearer " + token)
+        .when()
+            .get("/api/admin/queries")
+        .then()
+            .statusCode(200)
+            .body("methods.method", hasItem("ProductRepositoryImpl.save"))
+            .body("methods.find { it.method == 'ProductRepositoryImpl.save' }.count", greaterThanOrEqualTo(1))
+            .body("methods.find { it.method == 'ProductRepositoryImpl.save' }.p99Ms", notNullValue())
+            .body("slowest.method", hasItem("ProductRepositoryImpl.findViewsById"))
+            .body("slowest.find { it.method == 'ProductRepositoryImpl.findViewsById' }.parameters[0]", containsString(String.valueOf(id)))
+            .body("slowest.find { it.method == 'ProductRepositoryImpl.findViewsById' }.statements[0]", containsString("products"));
+    }
+
+    @Test
+    public void testPasswordHashesAreNotRecorded() {
+        recorder.reset();
+        // No user has this id, so nothing is written
+        userRepository.updatePassword(-1L, "pbkdf2$secret-hash");
+
+        List<String> parameters = recorder.slowest().stream()
+            .filter(query -> query.method().equals("UserRepository.updatePassword"))
+            .findFirst()
+            .orElseThrow()
+            .parameters();
+        assertEquals(List.of("-1", QueryRecorder.REDACTED), parameters);
+    }
+}
@@ -0,0 +1,64 @@
+package com.api.product.application.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvProductFeedParserTest {
+
+    @Test
+    public void testColumnsAreMatchedByHeaderAndQuotesAreHonoured() throws IOException {
+        CsvProductFeedParser parser = parser("sku,Price,name,description,ignored\r\n"
+                + "A-1,10.50,Lamp,\"Bright, warm\",x\r\n"
+                + "\r\n"
+                + "A-2,3,\"Say \"\"hi\"\"\",\"two\nlines\",y\n");
+
+        ProductFeedParser.FeedRow first = parser.next();
+        assertEquals(1, first.number());
+        assertEquals("A-1", first.product().getSku());
+        assertEquals(new BigDecimal("10.50"), first.product().getPrice());
+        assertEquals("Lamp", first.product().getName());
+        assertEquals("Bright, warm", first.product().getDescription());
+        assertNull(first.product().getStockQuantity());
+
+        ProductFeedParser.FeedRow second = parser.next();
+        assertEquals(2, second.number());
+        assertEquals("Say \"hi\"", second.product().getName());
+        assertEquals("two\nlines", second.product().getDescription());
+
+        assertNull(parser.next());
+    }
+
+    @Test
+    public void testMalformedRowsAreRejectedWithoutStopping() throws IOException {
+        CsvProductFeedParser parser = parser("""
+                name,price,stockQuantity
+                Lamp,abc,1
+                Lamp,1
+                Lamp,2,3
+                """);
+
+        assertNull(parser.next().product());
+        ProductFeedParser.FeedRow shortRow = parser.next();
+        assertEquals(2, shortRow.number());
+        assertEquals("Expected 3 columns but found 2", shortRow.error());
+        assertEquals(3, parser.next().product().getStockQuantity());
+    }
+
+    @Test
+    public void testHeaderMustNameRequiredColumns() {
+        assertThrows(IllegalArgumentException.class, () -> parser("name,sku\nLamp,A-1\n"));
+        assertThrows(IllegalArgumentException.class, () -> parser(""));
+    }
+
+    private static CsvProductFeedParser parser(String csv) throws IOException {
+        return new CsvProductFeedParser(new BufferedReader(new StringReader(csv)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.api.product.application.service;
+
+import com.api.product.domain.Product;
+import com.api.product.infrastructure.repository.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ClientErrorException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class StockReservationServiceTest {
+
+    @Inject
+    StockReservationService stockReservationService;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Test
+    public void testLeasedUnitsStayInStockUntilHandedOut() {
+        Long id = createProduct(100);
+        for (int i = 0; i < 10; i++) {
+            stockReservationService.reserve(id, 1);
+        }
+
+        int stock = stockOf(id);
+        assertTrue(stock >= 90 && stock <= 100, "stock " + stock);
+
+        stockReservationService.flush();
+        assertEquals(90, stockOf(id));
+
+        // Units handed out since the last flush are settled before the release is checked
+        stockReservationService.reserve(id, 1);
+        stockReservationService.release(id, 11);
+        assertThrows(ClientErrorException.class, () -> stockReservationService.release(id, 1));
+        stockReservationService.flush();
+        assertEquals(100, stockOf(id));
+    }
+
+    @Test
+    public void testAbsoluteStockWriteDropsLeases() {
+        Long id = createProduct(100);
+        for (int i = 0; i < 10; i++) {
+            stockReservationService.reserve(id, 1);
+        }
+
+        QuarkusTransaction.requiringNew().run(() -> {
+            Product product = productRepository.findById(id).orElseThrow();
+            product.setStockQuantity(50);
+            productRepository.save(product);
+        });
+        stockReservationService.flush();
+        stockReservationService.flush();
+        assertEquals(50, stockOf(id));
+
+        stockReservationService.reserve(id, 50);
+        assertThrows(ClientErrorException.class, () -> stockReservationService.reserve(id, 1));
+    }
+
+    @Test
+    public void testLeaseOfStoppedInstanceIsReconciled() {
+        Long id = createProduct(10);
+        QuarkusTransaction.requiringNew().run(() ->
+                productRepository.leaseStock(id, "stopped-instance", 4, LocalDateTime.now().minusHours(1)));
+        assertEquals(10, stockOf(id));
+        assertThrows(ClientErrorException.class, () -> stockReservationService.reserve(id, 7));
+
+        stockReservationService.reconcileStaleLeases();
+        assertEquals(6, stockOf(id));
+
+        stockReservationService.reserve(id, 6);
+        assertThrows(ClientErrorException.class, () -> stockReservationService.reserve(id, 1));
+    }
+
+    private Long createProduct(int stock) {
+        Product product = new Product();
+        product.setName("Leased product");
+        product.setPrice(new BigDecimal("10.00"));
+        product.setStockQuantity(stock);
+        return QuarkusTransaction.requiringNew().call(() -> productRepository.save(product)).getId();
+    }
+
+    private int stockOf(Long id) {
+        return QuarkusTransaction.requiringNew().call(() -> productRepository.findById(id).orElseThrow().getStockQuantity());
+    }
+}
@@ -0,0 +1,991 @@
+package com.api.product.controller;
+
+import com.api.auth.application.dto.LoginRequest;
+import com.api.product.application.dto.ProductDTO;
+import com.api.product.domain.Product;
+import com.api.product.domain.ProductImportStatus;
+import com.api.product.infrastructure.entity.ProductImportEntity;
+import com.api.product.infrastructure.repository.ProductImportJpaRepository;
+import com.api.product.infrastructure.repository.ProductRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class ProductControllerTest {
+
+    @Inject
+    ProductImportJpaRepository importRepository;
+
+    @Inject
+    ProductRepository productRepository;
+
+    @Test
+    public void testPaginationVisitsEveryProductOnce() {
+        for (int i = 0; i < 5; i++) {
+            createProduct("Paged product " + i, new BigDecimal("10.00"), 1);
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = given().queryParam("limit", 2).queryParam("sort", "price");
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            var page = request
+                .when()
+                    .get("/api/products")
+                .then()
+                    .statusCode(200)
+                    .extract();
+            List<Integer> ids = page.path("items.id");
+            assertTrue(ids.size() <= 2);
+            for (Integer id : ids) {
+                assertTrue(seen.add(id), "product " + id + " returned twice");
+            }
+            cursor = page.path("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertTrue(seen.size() >= 5);
+        assertTrue(pages >= 3);
+    }
+
+    @Test
+    public void testPaginationRejectsCursorFromAnotherSort() {
+        createProduct("Cursor product A", new BigDecimal("5.00"), 1);
+        createProduct("Cursor product B", new BigDecimal("6.00"), 1);
+
+        String cursor = given()
+            .queryParam("limit", 1)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .body("nextCursor", notNullValue())
+            .extract()
+            .path("nextCursor");
+
+        given()
+            .queryParam("after", cursor)
+            .queryParam("sort", "price")
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(400);
+
+        given()
+            .queryParam("after", "not-a-cursor")
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testLastPageHasNoCursor() {
+        given()
+            .queryParam("limit", 500)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .body("nextCursor", nullValue());
+    }
+
+    @Test
+    public void testExportStreamsNdjson() {
+        int id = createProduct("Exported product", new BigDecimal("12.50"), 3);
+
+        String body = given()
+        .when()
+            .get("/api/products/export")
+        .then()
+            .statusCode(200)
+            .contentType("application/x-ndjson")
+            .extract()
+            .asString();
+
+        String[] lines = body.strip().split("\n");
+        assertTrue(lines.length >= 1);
+        assertTrue(body.contains("\"id\":" + id + ","));
+        for (String line : lines) {
+            assertTrue(line.startsWith("{") && line.endsWith("}"), line);
+        }
+    }
+
+    @Test
+    public void testSearchRanksAndLimits() {
+        int exact = createProduct("Lamp", new BigDecimal("20.00"), 1);
+        int prefix = createProduct("Lamp shade", new BigDecimal("8.00"), 1);
+        createProduct("Desk lamp", new BigDecimal("30.00"), 1);
+
+        given()
+            .queryParam("name", "LAMP")
+            .queryParam("limit", 2)
+        .when()
+            .get("/api/products/search")
+        .then()
+            .statusCode(200)
+            .body("size()", is(2))
+            .body("[0].id", is(exact))
+            .body("[1].id", is(prefix));
+    }
+
+    @Test
+    public void testPriceRangeIsSortedAndLimited() {
+        int cheapest = createProduct("Range product C", new BigDecimal("1001.10"), 1);
+        int middle = createProduct("Range product A", new BigDecimal("1001.20"), 1);
+        createProduct("Range product B", new BigDecimal("1001.30"), 1);
+        createProduct("Range product D", new BigDecimal("1001.40"), 1);
+
+        given()
+            .queryParam("min", "1001.10")
+            .queryParam("max", "1001.30")
+            .queryParam("limit", 2)
+        .when()
+            .get("/api/products/price-range")
+        .then()
+            .statusCode(200)
+            .body("size()", is(2))
+            .body("[0].id", is(cheapest))
+            .body("[1].id", is(middle));
+
+        given()
+            .queryParam("min", "5")
+            .queryParam("max", "1")
+        .when()
+            .get("/api/products/price-range")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testInStockPagesSkipOutOfStockProducts() {
+        int stocked = createProduct("Stocked product", new BigDecimal("2002.10"), 3);
+        int empty = createProduct("Empty product", new BigDecimal("2002.20"), 0);
+
+        Set<Integer> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            var request = given().queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            var page = request
+                .when()
+                    .get("/api/products/in-stock")
+                .then()
+                    .statusCode(200)
+                    .extract();
+            List<Integer> ids = page.path("items.id");
+            for (Integer id : ids) {
+                assertTrue(seen.add(id), "product " + id + " returned twice");
+            }
+            cursor = page.path("nextCursor");
+        } while (cursor != null);
+
+        assertTrue(seen.contains(stocked));
+        assertTrue(!seen.contains(empty));
+
+        given()
+            .queryParam("min", "2002.00")
+            .queryParam("max", "2003.00")
+            .queryParam("inStock", true)
+        .when()
+            .get("/api/products/price-range")
+        .then()
+            .statusCode(200)
+            .body("size()", is(1))
+            .body("[0].id", is(stocked));
+    }
+
+    @Test
+    public void testBatchCreateAndUpsertBySku() {
+        String sku = "SKU-" + UUID.randomUUID();
+        List<ProductDTO> batch = List.of(
+            product("Batch product A", new BigDecimal("3.00"), 1, sku),
+            product("Batch product B", new BigDecimal("4.00"), 2, "SKU-" + UUID.randomUUID()));
+
+        List<Integer> ids = given()
+            .contentType(ContentType.JSON)
+            .body(batch)
+        .when()
+            .post("/api/products/batch")
+        .then()
+            .statusCode(201)
+            .body("size()", is(2))
+            .body("[0].name", is("Batch product A"))
+            .extract()
+            .path("id");
+        assertTrue(!ids.get(0).equals(ids.get(1)));
+
+        String newSku = "SKU-" + UUID.randomUUID();
+        given()
+            .contentType(ContentType.JSON)
+            .body(List.of(
+                product("Batch product A2", new BigDecimal("3.50"), 5, sku),
+                product("Batch product C", new BigDecimal("5.00"), 1, newSku)))
+        .when()
+            .put("/api/products/batch")
+        .then()
+            .statusCode(200)
+            .body("[0].id", is(ids.get(0)))
+            .body("[0].name", is("Batch product A2"))
+            .body("[1].sku", is(newSku))
+            .body("[1].id", notNullValue());
+
+        given()
+        .when()
+            .get("/api/products/" + ids.get(0))
+        .then()
+            .statusCode(200)
+            .body("stockQuantity", is(5));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(List.of(
+                product("Duplicate A", new BigDecimal("1.00"), 1, newSku),
+                product("Duplicate B", new BigDecimal("1.00"), 1, newSku)))
+        .when()
+            .put("/api/products/batch")
+        .then()
+            .statusCode(400);
+
+        // A missing body or a null element is a bad request, not a server error
+        given()
+            .contentType(ContentType.JSON)
+        .when()
+            .post("/api/products/batch")
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType(ContentType.JSON)
+        .when()
+            .put("/api/products/batch")
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body("[null]")
+        .when()
+            .post("/api/products/batch")
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body("[null]")
+        .when()
+            .put("/api/products/batch")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testPatchUpdatesOnlyGivenFieldsAndChecksVersion() {
+        int id = createProduct("Patched product", new BigDecimal("3003.10"), 0);
+
+        given()
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(200)
+            .body("version", is(0));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("price", "3003.50", "stockQuantity", 7, "version", 0))
+        .when()
+            .patch("/api/products/" + id)
+        .then()
+            .statusCode(204)
+            .header("ETag", startsWith("\"1-"));
+
+        given()
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(200)
+            .body("name", is("Patched product"))
+            .body("price", is(3003.5f))
+            .body("stockQuantity", is(7))
+            .body("version", is(1));
+
+        given()
+            .queryParam("min", "3003.40")
+            .queryParam("max", "3003.60")
+            .queryParam("inStock", true)
+        .when()
+            .get("/api/products/price-range")
+        .then()
+            .statusCode(200)
+            .body("id", hasItem(id));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("stockQuantity", 1, "version", 0))
+        .when()
+            .patch("/api/products/" + id)
+        .then()
+            .statusCode(409);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("stockQuantity", 1, "version", 0))
+        .when()
+            .patch("/api/products/999999999")
+        .then()
+            .statusCode(404);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("stockQuantity", 1))
+        .when()
+            .patch("/api/products/" + id)
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType(ContentType.JSON)
+        .when()
+            .patch("/api/products/" + id)
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testConditionalGetAnswersNotModifiedUntilProductChanges() {
+        int id = createProduct("Conditional product", new BigDecimal("5005.00"), 3);
+
+        ExtractableResponse<Response> first = given()
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(200)
+            .header("ETag", startsWith("\"0-"))
+            .header("Last-Modified", notNullValue())
+            .extract();
+        String tag = first.header("ETag");
+        String lastModified = first.header("Last-Modified");
+
+        given()
+            .header("If-None-Match", tag)
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(304)
+            .header("ETag", tag);
+
+        given()
+            .header("If-Modified-Since", lastModified)
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(304);
+
+        String pageTag = given()
+            .queryParam("limit", 5)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .header("ETag", notNullValue())
+            .extract().header("ETag");
+
+        given()
+            .queryParam("limit", 5)
+            .header("If-None-Match", pageTag)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(304);
+
+        given()
+            .queryParam("limit", 6)
+            .header("If-None-Match", pageTag)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("stockQuantity", 4, "version", 0))
+        .when()
+            .patch("/api/products/" + id)
+        .then()
+            .statusCode(204);
+
+        given()
+            .header("If-None-Match", tag)
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(200)
+            .header("ETag", startsWith("\"1-"))
+            .body("stockQuantity", is(4));
+
+        given()
+            .queryParam("limit", 5)
+            .header("If-None-Match", pageTag)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200);
+    }
+
+    @Test
+    public void testPageTagMovesWithWritesMadeElsewhere() {
+        String pageTag = given()
+            .queryParam("limit", 5)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .extract().header("ETag");
+
+        // Written straight through the repository, as another instance would
+        Product product = new Product();
+        product.setName("Written elsewhere");
+        product.setPrice(new BigDecimal("7007.00"));
+        product.setStockQuantity(1);
+        QuarkusTransaction.requiringNew().run(() -> productRepository.save(product));
+
+        given()
+            .queryParam("limit", 5)
+            .header("If-None-Match", pageTag)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .header("ETag", not(pageTag));
+    }
+
+    @Test
+    public void testConcurrentReservationsNeverOversell() throws Exception {
+        int id = createProduct("Flash sale product", new BigDecimal("6006.00"), 25);
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                statuses.add(clients.submit(() -> given()
+                    .contentType(ContentType.JSON)
+                    .body(Map.of("quantity", 1))
+                .when()
+                    .post("/api/products/" + id + "/reserve")
+                .then()
+                    .extract()
+                    .statusCode()));
+            }
+            int reserved = 0;
+            for (Future<Integer> status : statuses) {
+                int code = status.get();
+                assertTrue(code == 204 || code == 409, "unexpected status " + code);
+                reserved += code == 204 ? 1 : 0;
+            }
+            assertEquals(25, reserved);
+        } finally {
+            clients.shutdown();
+        }
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 3))
+        .when()
+            .post("/api/products/" + id + "/release")
+        .then()
+            .statusCode(204);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 3))
+        .when()
+            .post("/api/products/" + id + "/reserve")
+        .then()
+            .statusCode(204);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 1))
+        .when()
+            .post("/api/products/" + id + "/reserve")
+        .then()
+            .statusCode(409);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 1))
+        .when()
+            .post("/api/products/999999999/reserve")
+        .then()
+            .statusCode(404);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 0))
+        .when()
+            .post("/api/products/" + id + "/reserve")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testReleaseCannotExceedReservedStock() {
+        int id = createProduct("Released product", new BigDecimal("7007.00"), 5);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 2))
+        .when()
+            .post("/api/products/" + id + "/reserve")
+        .then()
+            .statusCode(204);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 3))
+        .when()
+            .post("/api/products/" + id + "/release")
+        .then()
+            .statusCode(409);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 2))
+        .when()
+            .post("/api/products/" + id + "/release")
+        .then()
+            .statusCode(204);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("quantity", 1))
+        .when()
+            .post("/api/products/999999999/release")
+        .then()
+            .statusCode(404);
+
+        given()
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(200)
+            .body("stockQuantity", is(5));
+    }
+
+    @Test
+    public void testMultiGetByIdsAndSkusKeepsOrderAndReportsMissing() {
+        String prefix = "MULTI-" + UUID.randomUUID() + "-";
+        List<Integer> ids = given()
+            .contentType(ContentType.JSON)
+            .body(List.of(
+                product("Multi product A", new BigDecimal("7007.10"), 1, prefix + "A"),
+                product("Multi product B", new BigDecimal("7007.20"), 2, prefix + "B"),
+                product("Multi product C", new BigDecimal("7007.30"), 3, prefix + "C")))
+        .when()
+            .post("/api/products/batch")
+        .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+
+        given()
+            .queryParam("ids", ids.get(2) + ",999999999," + ids.get(0) + "," + ids.get(2))
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .body("items.id", is(List.of(ids.get(2), ids.get(0))))
+            .body("missing", is(List.of(999999999)));
+
+        given()
+            .queryParam("skus", prefix + "B")
+            .queryParam("skus", prefix + "X")
+            .queryParam("skus", prefix + "A")
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .body("items.sku", is(List.of(prefix + "B", prefix + "A")))
+            .body("missing", is(List.of(prefix + "X")));
+
+        given()
+            .queryParam("ids", "1,abc")
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(400);
+
+        given()
+            .queryParam("ids", ids.get(0))
+            .queryParam("skus", prefix + "A")
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testLargeResponsesAreCompressedAndSmallOnesAreNot() {
+        for (int i = 0; i < 20; i++) {
+            createProduct("Compressed product " + i, new BigDecimal("8008.00"), 1);
+        }
+        int id = createProduct("Small product", new BigDecimal("8008.50"), 1);
+
+        given()
+            .header("Accept-Encoding", "gzip")
+            .queryParam("limit", 20)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .header("Content-Encoding", "gzip")
+            .body("items.size()", is(20));
+
+        given()
+            .header("Accept-Encoding", "br")
+            .queryParam("limit", 20)
+        .when()
+            .get("/api/products")
+        .then()
+            .statusCode(200)
+            .header("Content-Encoding", "br");
+
+        given()
+            .header("Accept-Encoding", "gzip")
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(200)
+            .header("Content-Encoding", not("gzip"))
+            .body("name", is("Small product"));
+    }
+
+    @Test
+    public void testBulkDeleteByIdsAndByFilter() {
+        String prefix = "PURGE-" + UUID.randomUUID() + "-";
+        List<Integer> purged = given()
+            .contentType(ContentType.JSON)
+            .body(List.of(
+                product("Purged product A", new BigDecimal("4004.10"), 0, prefix + "A"),
+                product("Purged product B", new BigDecimal("4004.20"), 5, prefix + "B"),
+                product("Purged product C", new BigDecimal("4004.30"), 0, prefix + "C")))
+        .when()
+            .post("/api/products/batch")
+        .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+        given().when().get("/api/products/" + purged.get(0)).then().statusCode(200);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("skuPrefix", prefix, "outOfStock", true))
+        .when()
+            .post("/api/products/bulk-delete")
+        .then()
+            .statusCode(200)
+            .body("deleted", is(2));
+
+        given().when().get("/api/products/" + purged.get(0)).then().statusCode(404);
+        given()
+            .queryParam("min", "4004.00")
+            .queryParam("max", "4005.00")
+        .when()
+            .get("/api/products/price-range")
+        .then()
+            .statusCode(200)
+            .body("id", is(List.of(purged.get(1))));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of("ids", List.of(purged.get(1), 999999999)))
+        .when()
+            .post("/api/products/bulk-delete")
+        .then()
+            .statusCode(200)
+            .body("deleted", is(1));
+
+        given()
+            .contentType(ContentType.JSON)
+            .body(Map.of())
+        .when()
+            .post("/api/products/bulk-delete")
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType(ContentType.JSON)
+        .when()
+            .post("/api/products/bulk-delete")
+        .then()
+            .statusCode(400);
+
+        given()
+            .contentType(ContentType.JSON)
+            .body("{\"ids\":[null]}")
+        .when()
+            .post("/api/products/bulk-delete")
+        .then()
+            .statusCode(400);
+    }
+
+    @Test
+    public void testCachedProductIsInvalidatedOnUpdateAndDelete() {
+        int id = createProduct("Cached product", new BigDecimal("15.00"), 4);
+
+        for (int i = 0; i < 2; i++) {
+            given()
+            .when()
+                .get("/api/products/" + id)
+            .then()
+                .statusCode(200)
+                .body("name", is("Cached product"));
+        }
+
+        ProductDTO update = new ProductDTO();
+        update.setName("Renamed product");
+        update.setPrice(new BigDecimal("16.00"));
+        update.setStockQuantity(4);
+        given()
+            .contentType(ContentType.JSON)
+            .body(update)
+        .when()
+            .put("/api/products/" + id)
+        .then()
+            .statusCode(200);
+
+        given()
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(200)
+            .body("name", is("Renamed product"));
+
+        given()
+        .when()
+            .delete("/api/products/" + id)
+        .then()
+            .statusCode(204);
+
+        given()
+        .when()
+            .get("/api/products/" + id)
+        .then()
+            .statusCode(404);
+    }
+
+    @Test
+    public void testCacheStatsRequireAdmin() {
+        given()
+        .when()
+            .get("/api/admin/products/cache")
+        .then()
+            .statusCode(401);
+
+        given()
+            .header("Authorization", "Bearer " + adminToken())
+        .when()
+            .get("/api/admin/products/cache")
+        .then()
+            .statusCode(200)
+            .body("hits", notNullValue())
+            .body("evictions", notNullValue());
+    }
+
+    @Test
+    public void testImportCommitsValidRowsAndReportsRejected() {
+        String importId = "test-" + UUID.randomUUID();
+        String sku = "SKU-" + UUID.randomUUID();
+        String feed = "{\"name\":\"Imported product\",\"price\":7.25,\"stockQuantity\":2,\"sku\":\"" + sku + "\"}\n"
+                + "{\"name\":\"\",\"price\":1}\n"
+                + "not json\n";
+
+        given()
+            .header("Authorization", "Bearer " + adminToken())
+            .contentType("application/x-ndjson")
+            .queryParam("importId", importId)
+            .body(feed.getBytes(StandardCharsets.UTF_8))
+        .when()
+            .post("/api/admin/products/import")
+        .then()
+            .statusCode(200)
+            .body("status", is("COMPLETED"))
+            .body("rowsRead", is(3))
+            .body("imported", is(1))
+            .body("rejected", is(2))
+            .body("rejections[0].row", is(2))
+            .body("rejections[1].row", is(3));
+
+        given()
+            .queryParam("name", "Imported product")
+        .when()
+            .get("/api/products/search")
+        .then()
+            .statusCode(200)
+            .body("sku", hasItem(sku));
+
+        given()
+            .header("Authorization", "Bearer " + adminToken())
+            .contentType("application/x-ndjson")
+            .queryParam("importId", importId)
+            .body(feed.getBytes(StandardCharsets.UTF_8))
+        .when()
+            .post("/api/admin/products/import")
+        .then()
+            .statusCode(409);
+    }
+
+    @Test
+    public void testImportStreamsFeedLargerThanDefaultBodyLimit() {
+        String sku = "SKU-" + UUID.randomUUID();
+        StringBuilder feed = new StringBuilder(12 * 1024 * 1024);
+        feed.append("{\"name\":\"Large feed product\",\"price\":3.5,\"stockQuantity\":1,\"sku\":\"").append(sku).append("\"}\n");
+        String rejected = "{\"name\":\"\",\"price\":1,\"description\":\"" + "x".repeat(100) + "\"}\n";
+        int rows = 1;
+        while (feed.length() <= 11 * 1024 * 1024) {
+            feed.append(rejected);
+            rows++;
+        }
+
+        given()
+            .header("Authorization", "Bearer " + adminToken())
+            .contentType("application/x-ndjson")
+            .body(feed.toString().getBytes(StandardCharsets.UTF_8))
+        .when()
+            .post("/api/admin/products/import")
+        .then()
+            .statusCode(200)
+            .body("status", is("COMPLETED"))
+            .body("rowsRead", is(rows))
+            .body("imported", is(1))
+            .body("rejected", is(rows - 1));
+    }
+
+    @Test
+    public void testOtherEndpointsKeepTheDefaultBodyLimit() {
+        byte[] body = ("[" + "{\"name\":\"Too large\",\"price\":1,\"stockQuantity\":1},".repeat(250_000) + "{}]")
+                .getBytes(StandardCharsets.UTF_8);
+        assertTrue(body.length > 11 * 1024 * 1024);
+
+        // Expect: 100-continue lets the client read the 413 instead of writing into a closed connection
+        given()
+            .config(RestAssured.config().httpClient(HttpClientConfig.httpClientConfig()
+                .setParam("http.protocol.expect-continue", true)))
+            .contentType(ContentType.JSON)
+            .body(body)
+        .when()
+            .post("/api/products/batch")
+        .then()
+            .statusCode(413);
+    }
+
+    @Test
+    public void testRunningImportCannotBeStartedTwice() {
+        String importId = "test-" + UUID.randomUUID();
+        ProductImportEntity checkpoint = new ProductImportEntity();
+        checkpoint.setId(importId);
+        checkpoint.setFormat("NDJSON");
+        checkpoint.setStatus(ProductImportStatus.RUNNING);
+        checkpoint.setStartedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        QuarkusTransaction.requiringNew().run(() -> importRepository.save(checkpoint));
+        byte[] feed = ("{\"name\":\"Resumed product\",\"price\":2,\"stockQuantity\":1,\"sku\":\"SKU-" + UUID.randomUUID() + "\"}\n")
+                .getBytes(StandardCharsets.UTF_8);
+
+        given()
+            .header("Authorization", "Bearer " + adminToken())
+            .contentType("application/x-ndjson")
+            .queryParam("importId", importId)
+            .body(feed)
+        .when()
+            .post("/api/admin/products/import")
+        .then()
+            .statusCode(409);
+
+        // A run that stopped committing long ago is taken over
+        QuarkusTransaction.requiringNew().run(() -> importRepository.findById(importId).orElseThrow()
+                .setUpdatedAt(LocalDateTime.now().minusHours(1)));
+
+        given()
+            .header("Authorization", "Bearer " + adminToken())
+            .contentType("application/x-ndjson")
+            .queryParam("importId", importId)
+            .body(feed)
+        .when()
+            .post("/api/admin/products/import")
+        .then()
+            .statusCode(200)
+            .body("status", is("COMPLETED"))
+            .body("imported", is(1));
+    }
+
+    static String adminToken() {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(new LoginRequest("admin", "admin123"))
+        .when()
+            .post("/auth/login")
+        .then()
+            .statusCode(200)
+            .extract()
+            .path("token");
+    }
+
+    static ProductDTO product(String name, BigDecimal price, int stock, String sku) {
+        ProductDTO dto = new ProductDTO();
+        dto.setName(name);
+        dto.setPrice(price);
+        dto.setStockQuantity(stock);
+        dto.setSku(sku);
+        return dto;
+    }
+
+    static int createProduct(String name, BigDecimal price, int stock) {
+        return given()
+            .contentType(ContentType.JSON)
+            .body(product(name, price, stock, "SKU-" + UUID.randomUUID()))
+        .when()
+            .post("/api/products")
+        .then()
+            .statusCode(201)
+            .body("name", is(name))
+            .extract()
+            .path("id");
+    }
+}
@@ -0,0 +1,80 @@
+package com.api.product.index;
+
+import com.api.product.infrastructure.index.PriceIndex;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriceIndexTest {
+
+    @Test
+    public void testRangeIsInclusiveAndOrderedByPrice() {
+        PriceIndex index = new PriceIndex();
+        index.put(1, new BigDecimal("30.00"));
+        index.put(2, new BigDecimal("10.00"));
+        index.put(3, new BigDecimal("20.00"));
+        index.put(4, new BigDecimal("10.00"));
+
+        assertArrayEquals(new int[]{2, 4, 3}, index.range(new BigDecimal("10"), new BigDecimal("20"), 10));
+        assertArrayEquals(new int[]{2, 4}, index.range(null, new BigDecimal("30"), 2));
+        assertArrayEquals(new int[0], index.range(new BigDecimal("31"), null, 10));
+    }
+
+    @Test
+    public void testBoundsAreRoundedInwards() {
+        PriceIndex index = new PriceIndex();
+        index.put(1, new BigDecimal("9.99"));
+        index.put(2, new BigDecimal("10.00"));
+        index.put(3, new BigDecimal("10.01"));
+
+        assertArrayEquals(new int[]{2}, index.range(new BigDecimal("9.995"), new BigDecimal("10.005"), 10));
+    }
+
+    @Test
+    public void testOutOfRangeBoundsAreClamped() {
+        PriceIndex index = new PriceIndex();
+        index.put(1, new BigDecimal("10.00"));
+        index.put(2, new BigDecimal("20.00"));
+
+        assertArrayEquals(new int[]{1, 2}, index.range(new BigDecimal("-1e30"), new BigDecimal("1e30"), 10));
+        assertArrayEquals(new int[0], index.range(new BigDecimal("1e30"), null, 10));
+        assertArrayEquals(new int[0], index.range(null, new BigDecimal("-1e30"), 10));
+    }
+
+    @Test
+    public void testUpdateMovesAndRemoveDeletes() {
+        PriceIndex index = new PriceIndex();
+        index.put(1, new BigDecimal("5.00"));
+        index.put(2, new BigDecimal("6.00"));
+        index.put(1, new BigDecimal("7.00"));
+
+        assertArrayEquals(new int[]{2, 1}, index.range(null, null, 10));
+
+        index.remove(2);
+        assertArrayEquals(new int[]{1}, index.range(null, null, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testBulkAppendMatchesIncrementalPuts() {
+        Random random = new Random(42);
+        PriceIndex bulk = new PriceIndex();
+        PriceIndex incremental = new PriceIndex();
+        for (int id = 0; id < 2000; id++) {
+            BigDecimal price = BigDecimal.valueOf(random.nextInt(500), 2);
+            bulk.append(id, price);
+            incremental.put(id, price);
+        }
+        bulk.seal();
+
+        int[] all = bulk.range(null, null, Integer.MAX_VALUE);
+        assertArrayEquals(incremental.range(null, null, Integer.MAX_VALUE), all);
+        assertEquals(2000, all.length);
+        assertTrue(all.length > 0);
+    }
+}
@@ -0,0 +1,107 @@
+package com.api.product.index;
+
+import com.api.product.infrastructure.index.TrigramIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TrigramIndexTest {
+
+    @Test
+    public void testMatchesSubstringsIgnoringCase() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Wireless Mouse");
+        index.put(2, "Mouse Pad");
+        index.put(3, "Keyboard");
+
+        assertArrayEquals(new int[]{2, 1}, index.search("MOUSE", 10));
+        assertArrayEquals(new int[]{3}, index.search("yboa", 10));
+        assertArrayEquals(new int[0], index.search("monitor", 10));
+    }
+
+    @Test
+    public void testRanksExactThenPrefixThenWordThenSubstring() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(10, "Micropen");
+        index.put(11, "Pen holder");
+        index.put(12, "Gel pen");
+        index.put(13, "pen");
+
+        assertArrayEquals(new int[]{13, 11, 12, 10}, index.search("pen", 10));
+        assertArrayEquals(new int[]{13, 11}, index.search("pen", 2));
+    }
+
+    @Test
+    public void testCandidatesAreVerified() {
+        TrigramIndex index = new TrigramIndex();
+        // Contains every gram of "abcd" ("abc", "bcd") but not the substring itself
+        index.put(1, "abc-bcd");
+        index.put(2, "xabcdx");
+
+        assertArrayEquals(new int[]{2}, index.search("abcd", 10));
+    }
+
+    @Test
+    public void testShortQueriesScanTexts() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Box");
+        index.put(2, "Toolbox");
+
+        assertArrayEquals(new int[]{1, 2}, index.search("bo", 10));
+    }
+
+    @Test
+    public void testUpdateAndRemove() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Old name");
+        index.put(1, "New name");
+
+        assertArrayEquals(new int[0], index.search("old", 10));
+        assertArrayEquals(new int[]{1}, index.search("new", 10));
+
+        index.remove(1);
+        assertArrayEquals(new int[0], index.search("name", 10));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    public void testChurnMatchesAScan() {
+        TrigramIndex index = new TrigramIndex();
+        String[] texts = new String[2000];
+        Random random = new Random(7);
+        for (int round = 0; round < 20_000; round++) {
+            int docId = random.nextInt(texts.length);
+            if (random.nextInt(4) == 0) {
+                index.remove(docId);
+                texts[docId] = null;
+            } else {
+                texts[docId] = Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+                index.put(docId, texts[docId]);
+            }
+        }
+
+        int live = 0;
+        for (String text : texts) {
+            live += text == null ? 0 : 1;
+        }
+        assertEquals(live, index.size());
+        for (String query : new String[]{"abc", "x1y", "q", "zz9", "0a0"}) {
+            Set<Integer> expected = new HashSet<>();
+            for (int docId = 0; docId < texts.length; docId++) {
+                if (texts[docId] != null && texts[docId].contains(query)) {
+                    expected.add(docId);
+                }
+            }
+            Set<Integer> found = new HashSet<>();
+            for (int docId : index.search(query, texts.length)) {
+                found.add(docId);
+            }
+            assertEquals(expected, found, query);
+        }
+    }
+}